@@ -1,17 +1,28 @@
 package com.shoppingcart.controller;
 
 import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartDelta;
+import com.shoppingcart.model.CartValidationResult;
+import com.shoppingcart.serialization.CartBinaryHttpMessageConverter;
 import com.shoppingcart.service.CartService;
+import com.shoppingcart.service.CartValidationService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/cart")
 public class CartController {
     private final CartService cartService;
+    private final CartValidationService cartValidationService;
 
-    public CartController(CartService cartService) {
+    public CartController(CartService cartService, CartValidationService cartValidationService) {
         this.cartService = cartService;
+        this.cartValidationService = cartValidationService;
     }
 
     @PostMapping("/add")
@@ -23,12 +34,36 @@ public class CartController {
         return ResponseEntity.ok().build();
     }
 
-    @GetMapping("/{userId}")
-    public ResponseEntity<Cart> getCart(@PathVariable String userId) {
+    @GetMapping(value = "/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, CartBinaryHttpMessageConverter.CART_BINARY_VALUE})
+    public ResponseEntity<Cart> getCart(@PathVariable String userId, WebRequest request,
+                                        HttpServletResponse response) {
         Cart cart = cartService.getCart(userId);
+        // JSON and binary share the ETag, so caches must also key on Accept; set before any 304
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // The cart version doubles as the ETag so polling clients get a 304 when nothing changed
+        if (request.checkNotModified(String.valueOf(cart.getVersion()))) {
+            return null;
+        }
         return ResponseEntity.ok(cart);
     }
 
+    @GetMapping("/{userId}/changes")
+    public ResponseEntity<CartDelta> getCartChanges(
+            @PathVariable String userId,
+            @RequestParam long since) {
+        CartDelta delta = cartService.getCartChanges(userId, since);
+        if (!delta.hasChanges()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(delta);
+    }
+
+    @GetMapping("/{userId}/validation")
+    public ResponseEntity<CartValidationResult> validateCart(@PathVariable String userId) {
+        CartValidationResult result = cartValidationService.validateCart(userId);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{userId}/items/{productId}")
     public ResponseEntity<Void> removeItemFromCart(
             @PathVariable String userId,
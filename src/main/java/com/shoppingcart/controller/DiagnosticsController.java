@@ -0,0 +1,28 @@
+package com.shoppingcart.controller;
+
+import com.shoppingcart.tracing.RepositoryTraceReport;
+import com.shoppingcart.tracing.RepositoryTracer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+    private final RepositoryTracer repositoryTracer;
+
+    public DiagnosticsController(RepositoryTracer repositoryTracer) {
+        this.repositoryTracer = repositoryTracer;
+    }
+
+    @GetMapping("/repository-traces")
+    public ResponseEntity<RepositoryTraceReport> getRepositoryTraces() {
+        RepositoryTraceReport report = repositoryTracer.report();
+        return ResponseEntity.ok(report);
+    }
+
+    @DeleteMapping("/repository-traces")
+    public ResponseEntity<Void> resetRepositoryTraces() {
+        repositoryTracer.reset();
+        return ResponseEntity.ok().build();
+    }
+}
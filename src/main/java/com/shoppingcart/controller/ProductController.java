@@ -1,19 +1,26 @@
 package com.shoppingcart.controller;
 
 import com.shoppingcart.model.Product;
+import com.shoppingcart.model.StockImportFormat;
+import com.shoppingcart.model.StockImportJob;
 import com.shoppingcart.service.ProductService;
+import com.shoppingcart.service.StockImportService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
     private final ProductService productService;
+    private final StockImportService stockImportService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, StockImportService stockImportService) {
         this.productService = productService;
+        this.stockImportService = stockImportService;
     }
 
     @GetMapping("/{productId}")
@@ -36,6 +43,24 @@ public class ProductController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/stock/import")
+    public ResponseEntity<StockImportJob> importStock(
+            InputStream body,
+            @RequestParam(defaultValue = "CSV") StockImportFormat format) {
+        // The upload is staged and imported in the background; the job is polled for its report
+        StockImportJob job = stockImportService.submitImport(body, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/products/stock/import/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/stock/import/{jobId}")
+    public ResponseEntity<StockImportJob> getImportJob(@PathVariable String jobId) {
+        return stockImportService.getImportJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{productId}/availability")
     public ResponseEntity<Boolean> checkAvailability(
             @PathVariable String productId,
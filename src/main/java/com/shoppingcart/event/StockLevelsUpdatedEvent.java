@@ -0,0 +1,19 @@
+package com.shoppingcart.event;
+
+import java.util.List;
+
+/**
+ * Published once per applied import batch so anything caching products can drop the
+ * affected entries in one go rather than per row.
+ */
+public class StockLevelsUpdatedEvent {
+    private final List<String> productIds;
+
+    public StockLevelsUpdatedEvent(List<String> productIds) {
+        this.productIds = productIds;
+    }
+
+    public List<String> getProductIds() {
+        return productIds;
+    }
+}
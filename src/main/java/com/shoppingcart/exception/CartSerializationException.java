@@ -0,0 +1,11 @@
+package com.shoppingcart.exception;
+
+public class CartSerializationException extends RuntimeException {
+    public CartSerializationException(String message) {
+        super(message);
+    }
+
+    public CartSerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
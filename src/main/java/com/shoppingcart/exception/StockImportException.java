@@ -0,0 +1,11 @@
+package com.shoppingcart.exception;
+
+public class StockImportException extends RuntimeException {
+    public StockImportException(String message) {
+        super(message);
+    }
+
+    public StockImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
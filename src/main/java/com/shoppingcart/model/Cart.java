@@ -1,18 +1,59 @@
 package com.shoppingcart.model;
 
 import com.shoppingcart.exception.CartFullException;
+import com.shoppingcart.serialization.CartChangeLogConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.Version;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+@Entity
 public class Cart {
     public static final int MAX_ITEMS = 10;
+
+    @Id
     private String userId;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @OrderColumn(name = "line_number")
     private List<CartItem> items;
 
+    // Assigned by the persistence provider: null until first saved, then bumped on every update
+    @Version
+    private Long version;
+
+    @Lob
+    @Convert(converter = CartChangeLogConverter.class)
+    @Column(name = "change_log")
+    private CartChangeLog changeLog;
+
+    protected Cart() {
+        this.items = new ArrayList<>();
+    }
+
     public Cart(String userId) {
+        this(userId, null, new CartChangeLog());
+    }
+
+    /**
+     * Recreates a stored cart; a null change log means its history before this version is unknown
+     */
+    public Cart(String userId, Long version, CartChangeLog changeLog) {
         this.userId = userId;
         this.items = new ArrayList<>();
+        this.version = version;
+        this.changeLog = changeLog;
+        ensureChangeLog();
     }
 
     public String getUserId() {
@@ -23,10 +64,58 @@ public class Cart {
         return items;
     }
 
+    public long getVersion() {
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Returns false for a cart created in this request that has never been stored
+     */
+    public boolean hasBeenSaved() {
+        return version != null;
+    }
+
+    /**
+     * Records that the line for the given product was added, updated or removed, and
+     * returns the version the cart will have once saved
+     */
+    public long markChanged(String productId) {
+        long pendingVersion = version == null ? 0 : version + 1;
+        changeLog.record(pendingVersion, productId);
+        return pendingVersion;
+    }
+
+    /**
+     * Returns the product IDs changed after the given version, or empty if they can no
+     * longer be determined and the client needs the full cart
+     */
+    public Optional<Set<String>> getChangedProductIdsSince(long version) {
+        if (version < 0 || version > getVersion()) {
+            return Optional.empty();
+        }
+        return changeLog.changedSince(version);
+    }
+
+    /**
+     * Exposes the change ring for persistence; not a bean property so it stays out of JSON
+     * and the binary cart encoding, which are sent to clients
+     */
+    public CartChangeLog changeLog() {
+        return changeLog;
+    }
+
     public void addItem(CartItem item) {
         if (items.size() >= MAX_ITEMS) {
             throw new CartFullException("Cart has reached maximum item limit");
         }
         items.add(item);
     }
-} 
\ No newline at end of file
+
+    // Rows saved before the ring was persisted have no history to replay
+    @PostLoad
+    private void ensureChangeLog() {
+        if (changeLog == null) {
+            changeLog = new CartChangeLog(version == null ? -1 : version);
+        }
+    }
+}
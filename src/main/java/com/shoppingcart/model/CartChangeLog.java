@@ -0,0 +1,143 @@
+package com.shoppingcart.model;
+
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded ring of the products touched by the most recent cart versions. Each entry
+ * pairs a product ID with the cart version that changed it; once the ring is full the
+ * oldest entry is dropped and its version becomes the point before which changes can no
+ * longer be replayed, so older clients have to be answered with a full cart.
+ *
+ * <p>The ring is persisted with the cart, so deltas keep working across reloads.
+ */
+public class CartChangeLog {
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private final long[] versions;
+    private final String[] productIds;
+    private int start;
+    private int size;
+    private long evictedThrough;
+
+    /**
+     * Creates an empty ring for a new cart, whose whole history is known
+     */
+    public CartChangeLog() {
+        this(DEFAULT_CAPACITY, -1);
+    }
+
+    /**
+     * Creates an empty ring for a cart whose changes up to and including the given
+     * version are unknown, such as one stored before its changes were recorded
+     */
+    public CartChangeLog(long evictedThrough) {
+        this(DEFAULT_CAPACITY, evictedThrough);
+    }
+
+    public CartChangeLog(int capacity, long evictedThrough) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than zero");
+        }
+        this.versions = new long[capacity];
+        this.productIds = new String[capacity];
+        this.evictedThrough = evictedThrough;
+    }
+
+    /**
+     * Records that the given product changed in the given cart version
+     */
+    public void record(long version, String productId) {
+        for (int i = 0; i < size; i++) {
+            if (getVersion(i) == version && getProductId(i).equals(productId)) {
+                return;
+            }
+        }
+        if (size == productIds.length) {
+            evictedThrough = Math.max(evictedThrough, versions[start]);
+            start = (start + 1) % productIds.length;
+            size--;
+        }
+        int slot = (start + size) % productIds.length;
+        versions[slot] = version;
+        productIds[slot] = productId;
+        size++;
+    }
+
+    /**
+     * Returns the product IDs changed after the given version, or empty if the ring no
+     * longer covers that range and a full cart is needed
+     */
+    public Optional<Set<String>> changedSince(long sinceVersion) {
+        if (sinceVersion < evictedThrough) {
+            return Optional.empty();
+        }
+        Set<String> changed = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            if (getVersion(i) > sinceVersion) {
+                changed.add(getProductId(i));
+            }
+        }
+        return Optional.of(changed);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the cart version of the entry at the given position, oldest first
+     */
+    public long getVersion(int index) {
+        return versions[slot(index)];
+    }
+
+    /**
+     * Returns the product ID of the entry at the given position, oldest first
+     */
+    public String getProductId(int index) {
+        return productIds[slot(index)];
+    }
+
+    public long getEvictedThrough() {
+        return evictedThrough;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return (start + index) % productIds.length;
+    }
+
+    // Compared by content so dirty checking only flags the cart when an entry was recorded
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CartChangeLog other)) {
+            return false;
+        }
+        if (size != other.size || evictedThrough != other.evictedThrough) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (getVersion(i) != other.getVersion(i) || !getProductId(i).equals(other.getProductId(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(evictedThrough);
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(getVersion(i));
+            hash = 31 * hash + getProductId(i).hashCode();
+        }
+        return hash;
+    }
+}
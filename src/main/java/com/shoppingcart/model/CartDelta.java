@@ -0,0 +1,54 @@
+package com.shoppingcart.model;
+
+import java.util.List;
+
+/**
+ * Changes to a cart since a client's last known version. When {@code full} is set the
+ * requested version was too old to replay and {@code items} holds every line in the cart.
+ */
+public class CartDelta {
+    private final String userId;
+    private final long sinceVersion;
+    private final long version;
+    private final boolean full;
+    private final List<CartItem> items;
+    private final List<String> removedProductIds;
+
+    public CartDelta(String userId, long sinceVersion, long version, boolean full,
+                     List<CartItem> items, List<String> removedProductIds) {
+        this.userId = userId;
+        this.sinceVersion = sinceVersion;
+        this.version = version;
+        this.full = full;
+        this.items = items;
+        this.removedProductIds = removedProductIds;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getSinceVersion() {
+        return sinceVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public List<CartItem> getItems() {
+        return items;
+    }
+
+    public List<String> getRemovedProductIds() {
+        return removedProductIds;
+    }
+
+    public boolean hasChanges() {
+        return full || !items.isEmpty() || !removedProductIds.isEmpty();
+    }
+}
@@ -1,10 +1,16 @@
 package com.shoppingcart.model;
 
+import jakarta.persistence.Embeddable;
+
+@Embeddable
 public class CartItem {
     private String productId;
     private int quantity;
     private double price;
 
+    protected CartItem() {
+    }
+
     public CartItem(String productId, int quantity) {
         this.productId = productId;
         this.quantity = quantity;
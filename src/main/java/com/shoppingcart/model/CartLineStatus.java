@@ -0,0 +1,11 @@
+package com.shoppingcart.model;
+
+public enum CartLineStatus {
+    VALID,
+    PRODUCT_NOT_FOUND,
+    PRODUCT_NOT_AVAILABLE,
+    INSUFFICIENT_STOCK,
+    PRICE_CHANGED,
+    /** The product lookup failed or didn't finish before the validation deadline */
+    NOT_CHECKED
+}
@@ -0,0 +1,41 @@
+package com.shoppingcart.model;
+
+public class CartLineVerdict {
+    private final String productId;
+    private final int quantity;
+    private final double cartPrice;
+    private final Double currentPrice;
+    private final CartLineStatus status;
+
+    public CartLineVerdict(String productId, int quantity, double cartPrice, Double currentPrice,
+                           CartLineStatus status) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.cartPrice = cartPrice;
+        this.currentPrice = currentPrice;
+        this.status = status;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public double getCartPrice() {
+        return cartPrice;
+    }
+
+    /**
+     * The product's current price, or null if the product couldn't be looked up
+     */
+    public Double getCurrentPrice() {
+        return currentPrice;
+    }
+
+    public CartLineStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,31 @@
+package com.shoppingcart.model;
+
+import java.util.List;
+
+public class CartValidationResult {
+    private final String userId;
+    private final long cartVersion;
+    private final List<CartLineVerdict> lines;
+
+    public CartValidationResult(String userId, long cartVersion, List<CartLineVerdict> lines) {
+        this.userId = userId;
+        this.cartVersion = cartVersion;
+        this.lines = lines;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getCartVersion() {
+        return cartVersion;
+    }
+
+    public List<CartLineVerdict> getLines() {
+        return lines;
+    }
+
+    public boolean isValid() {
+        return lines.stream().allMatch(line -> line.getStatus() == CartLineStatus.VALID);
+    }
+}
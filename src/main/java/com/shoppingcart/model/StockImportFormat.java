@@ -0,0 +1,8 @@
+package com.shoppingcart.model;
+
+public enum StockImportFormat {
+    /** One {@code productId,quantity} pair per line, with an optional header row */
+    CSV,
+    /** One {@code {"productId": "...", "quantity": n}} object per line */
+    NDJSON
+}
@@ -0,0 +1,57 @@
+package com.shoppingcart.model;
+
+import java.time.Instant;
+
+/**
+ * A stock import running in the background. The report is set once the job completes and
+ * the error once it fails.
+ */
+public class StockImportJob {
+    private final String id;
+    private final StockImportFormat format;
+    private final Instant submittedAt;
+    private volatile StockImportJobStatus status;
+    private volatile StockImportReport report;
+    private volatile String error;
+
+    public StockImportJob(String id, StockImportFormat format, Instant submittedAt) {
+        this.id = id;
+        this.format = format;
+        this.submittedAt = submittedAt;
+        this.status = StockImportJobStatus.RUNNING;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public StockImportFormat getFormat() {
+        return format;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public StockImportJobStatus getStatus() {
+        return status;
+    }
+
+    public StockImportReport getReport() {
+        return report;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void complete(StockImportReport report) {
+        this.report = report;
+        this.status = StockImportJobStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.status = StockImportJobStatus.FAILED;
+    }
+}
@@ -0,0 +1,8 @@
+package com.shoppingcart.model;
+
+public enum StockImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    /** The upload couldn't be read; rows rejected during a completed import don't fail the job */
+    FAILED
+}
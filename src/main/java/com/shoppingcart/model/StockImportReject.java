@@ -0,0 +1,25 @@
+package com.shoppingcart.model;
+
+public class StockImportReject {
+    private final long lineNumber;
+    private final String productId;
+    private final String reason;
+
+    public StockImportReject(long lineNumber, String productId, String reason) {
+        this.lineNumber = lineNumber;
+        this.productId = productId;
+        this.reason = reason;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,61 @@
+package com.shoppingcart.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk stock import. Only the first rejects are kept in {@code rejects};
+ * {@code rowsRejected} always holds the full count. Rows of a batch whose update failed
+ * are counted as rejected and the batch as failed rather than applied.
+ */
+public class StockImportReport {
+    private final long rowsRead;
+    private final long rowsUpdated;
+    private final long rowsRejected;
+    private final int batches;
+    private final int failedBatches;
+    private final long elapsedMillis;
+    private final List<StockImportReject> rejects;
+
+    public StockImportReport(long rowsRead, long rowsUpdated, long rowsRejected, int batches,
+                             int failedBatches, long elapsedMillis, List<StockImportReject> rejects) {
+        this.rowsRead = rowsRead;
+        this.rowsUpdated = rowsUpdated;
+        this.rowsRejected = rowsRejected;
+        this.batches = batches;
+        this.failedBatches = failedBatches;
+        this.elapsedMillis = elapsedMillis;
+        this.rejects = rejects;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public int getFailedBatches() {
+        return failedBatches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsRead * 1000.0 : rowsRead * 1000.0 / elapsedMillis;
+    }
+
+    public List<StockImportReject> getRejects() {
+        return rejects;
+    }
+}
@@ -0,0 +1,487 @@
+package com.shoppingcart.serialization;
+
+import com.shoppingcart.exception.CartSerializationException;
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartChangeLog;
+import com.shoppingcart.model.CartItem;
+import com.shoppingcart.model.Product;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, versioned binary encoding for carts and products.
+ *
+ * <p>Every payload starts with a three byte header (magic, format version, payload type).
+ * Cart payloads carry a product ID dictionary up front so each line only stores a varint
+ * index into it, followed by a varint quantity and the raw price bits. Since format version
+ * 2 each cart also carries its version; version 1 payloads decode with version zero.
+ * Format version 3 also carried each cart's change ring; since version 4 the ring is
+ * server-side state encoded on its own ({@link #encode(CartChangeLog)}) and cart payloads
+ * decode with an empty ring that only answers from their version onwards.
+ * Encoding writes straight into the target {@link ByteBuffer} and decoding reads from the
+ * buffer's current position without copying it first.
+ */
+public final class CartBinaryCodec {
+    public static final byte MAGIC = (byte) 0xCA;
+    public static final byte FORMAT_VERSION = 4;
+
+    static final byte TYPE_CARTS = 1;
+    static final byte TYPE_PRODUCT = 2;
+    static final byte TYPE_CHANGE_LOG = 3;
+
+    private static final int HEADER_SIZE = 3;
+
+    private CartBinaryCodec() {
+    }
+
+    /**
+     * Encodes a single cart into a newly allocated buffer, flipped and ready for reading
+     */
+    public static ByteBuffer encode(Cart cart) {
+        return encodeAll(List.of(cart));
+    }
+
+    /**
+     * Encodes a batch of carts sharing one product ID dictionary into a newly allocated
+     * buffer, flipped and ready for reading
+     */
+    public static ByteBuffer encodeAll(Collection<Cart> carts) {
+        Map<String, Integer> dictionary = buildDictionary(carts);
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(carts, dictionary));
+        writeCarts(carts, dictionary, buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Encodes a batch of carts into the given buffer starting at its current position
+     *
+     * @throws CartSerializationException if the buffer doesn't have enough space remaining
+     */
+    public static void encodeAll(Collection<Cart> carts, ByteBuffer target) {
+        try {
+            writeCarts(carts, buildDictionary(carts), target);
+        } catch (BufferOverflowException e) {
+            throw new CartSerializationException("Buffer too small to encode carts", e);
+        }
+    }
+
+    /**
+     * Returns the exact number of bytes {@link #encodeAll(Collection, ByteBuffer)} will write
+     */
+    public static int encodedSize(Collection<Cart> carts) {
+        return encodedSize(carts, buildDictionary(carts));
+    }
+
+    /**
+     * Decodes a payload holding exactly one cart
+     *
+     * @throws CartSerializationException if the payload is malformed or holds more than one cart
+     */
+    public static Cart decode(ByteBuffer source) {
+        List<Cart> carts = decodeAll(source);
+        if (carts.size() != 1) {
+            throw new CartSerializationException("Expected a single cart but found " + carts.size());
+        }
+        return carts.get(0);
+    }
+
+    /**
+     * Decodes every cart in the payload, advancing the buffer past it
+     *
+     * @throws CartSerializationException if the payload is malformed
+     */
+    public static List<Cart> decodeAll(ByteBuffer source) {
+        try {
+            byte formatVersion = readHeader(source, TYPE_CARTS);
+            String[] dictionary = readDictionary(source);
+
+            int cartCount = readCount(source, "Cart count");
+            List<Cart> carts = new ArrayList<>(cartCount);
+            for (int i = 0; i < cartCount; i++) {
+                String userId = readString(source);
+                long version = formatVersion >= 2 ? readVarLong(source) : 0;
+                List<CartItem> items = new ArrayList<>();
+                int itemCount = readCount(source, "Item count");
+                for (int j = 0; j < itemCount; j++) {
+                    String productId = dictionary[readIndex(source, dictionary)];
+                    int quantity = readVarInt(source);
+                    double price = source.getDouble();
+                    items.add(new CartItem(productId, quantity, price));
+                }
+                CartChangeLog changeLog = formatVersion == 3 ? readChangeLog(source, dictionary) : null;
+                Cart cart = new Cart(userId, version, changeLog);
+                cart.getItems().addAll(items);
+                carts.add(cart);
+            }
+            return carts;
+        } catch (BufferUnderflowException e) {
+            throw new CartSerializationException("Truncated cart payload", e);
+        }
+    }
+
+    /**
+     * Encodes a cart change ring on its own into a newly allocated buffer, flipped and
+     * ready for reading
+     */
+    public static ByteBuffer encode(CartChangeLog changeLog) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        addToDictionary(changeLog, dictionary);
+        int size = HEADER_SIZE + dictionarySize(dictionary) + changeLogSize(changeLog, dictionary);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        writeHeader(buffer, TYPE_CHANGE_LOG);
+        writeDictionary(buffer, dictionary);
+        writeChangeLog(buffer, changeLog, dictionary);
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes a cart change ring, advancing the buffer past it
+     *
+     * @throws CartSerializationException if the payload is malformed
+     */
+    public static CartChangeLog decodeChangeLog(ByteBuffer source) {
+        try {
+            readHeader(source, TYPE_CHANGE_LOG);
+            return readChangeLog(source, readDictionary(source));
+        } catch (BufferUnderflowException e) {
+            throw new CartSerializationException("Truncated change log payload", e);
+        }
+    }
+
+    /**
+     * Encodes a product into a newly allocated buffer, flipped and ready for reading
+     */
+    public static ByteBuffer encode(Product product) {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(product));
+        writeProduct(product, buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Encodes a product into the given buffer starting at its current position
+     *
+     * @throws CartSerializationException if the buffer doesn't have enough space remaining
+     */
+    public static void encode(Product product, ByteBuffer target) {
+        try {
+            writeProduct(product, target);
+        } catch (BufferOverflowException e) {
+            throw new CartSerializationException("Buffer too small to encode product", e);
+        }
+    }
+
+    /**
+     * Returns the exact number of bytes {@link #encode(Product, ByteBuffer)} will write
+     */
+    public static int encodedSize(Product product) {
+        return HEADER_SIZE
+                + stringSize(product.getId())
+                + stringSize(product.getName())
+                + Double.BYTES
+                + varIntSize(product.getStockQuantity())
+                + 1;
+    }
+
+    /**
+     * Decodes a product, advancing the buffer past it
+     *
+     * @throws CartSerializationException if the payload is malformed
+     */
+    public static Product decodeProduct(ByteBuffer source) {
+        try {
+            readHeader(source, TYPE_PRODUCT);
+            Product product = new Product(
+                    readString(source),
+                    readString(source),
+                    source.getDouble(),
+                    readVarInt(source));
+            product.setActive(source.get() != 0);
+            return product;
+        } catch (BufferUnderflowException e) {
+            throw new CartSerializationException("Truncated product payload", e);
+        }
+    }
+
+    private static Map<String, Integer> buildDictionary(Collection<Cart> carts) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Cart cart : carts) {
+            for (CartItem item : cart.getItems()) {
+                dictionary.putIfAbsent(item.getProductId(), dictionary.size());
+            }
+        }
+        return dictionary;
+    }
+
+    private static void addToDictionary(CartChangeLog changeLog, Map<String, Integer> dictionary) {
+        for (int i = 0; i < changeLog.size(); i++) {
+            dictionary.putIfAbsent(changeLog.getProductId(i), dictionary.size());
+        }
+    }
+
+    private static int dictionarySize(Map<String, Integer> dictionary) {
+        int size = varIntSize(dictionary.size());
+        for (String productId : dictionary.keySet()) {
+            size += stringSize(productId);
+        }
+        return size;
+    }
+
+    private static int changeLogSize(CartChangeLog changeLog, Map<String, Integer> dictionary) {
+        int size = varIntSize(changeLog.size()) + varLongSize(changeLog.getEvictedThrough() + 1);
+        for (int i = 0; i < changeLog.size(); i++) {
+            size += varLongSize(changeLog.getVersion(i)) + varIntSize(dictionary.get(changeLog.getProductId(i)));
+        }
+        return size;
+    }
+
+    private static int encodedSize(Collection<Cart> carts, Map<String, Integer> dictionary) {
+        int size = HEADER_SIZE + dictionarySize(dictionary) + varIntSize(carts.size());
+        for (Cart cart : carts) {
+            size += stringSize(cart.getUserId())
+                    + varLongSize(cart.getVersion())
+                    + varIntSize(cart.getItems().size());
+            for (CartItem item : cart.getItems()) {
+                size += varIntSize(dictionary.get(item.getProductId()))
+                        + varIntSize(item.getQuantity())
+                        + Double.BYTES;
+            }
+        }
+        return size;
+    }
+
+    private static void writeCarts(Collection<Cart> carts, Map<String, Integer> dictionary, ByteBuffer target) {
+        writeHeader(target, TYPE_CARTS);
+        writeDictionary(target, dictionary);
+        writeVarInt(target, carts.size());
+        for (Cart cart : carts) {
+            writeString(target, cart.getUserId());
+            writeVarLong(target, cart.getVersion());
+            writeVarInt(target, cart.getItems().size());
+            for (CartItem item : cart.getItems()) {
+                writeVarInt(target, dictionary.get(item.getProductId()));
+                writeVarInt(target, item.getQuantity());
+                target.putDouble(item.getPrice());
+            }
+        }
+    }
+
+    private static void writeDictionary(ByteBuffer target, Map<String, Integer> dictionary) {
+        writeVarInt(target, dictionary.size());
+        for (String productId : dictionary.keySet()) {
+            writeString(target, productId);
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer source) {
+        String[] dictionary = new String[readCount(source, "Dictionary size")];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(source);
+        }
+        return dictionary;
+    }
+
+    private static int readIndex(ByteBuffer source, String[] dictionary) {
+        int index = readVarInt(source);
+        if (index < 0 || index >= dictionary.length) {
+            throw new CartSerializationException("Product index out of range: " + index);
+        }
+        return index;
+    }
+
+    // Eviction point shifted by one so "nothing evicted" (-1) fits a varint, then entries oldest first
+    private static void writeChangeLog(ByteBuffer target, CartChangeLog changeLog, Map<String, Integer> dictionary) {
+        writeVarLong(target, changeLog.getEvictedThrough() + 1);
+        writeVarInt(target, changeLog.size());
+        for (int i = 0; i < changeLog.size(); i++) {
+            writeVarLong(target, changeLog.getVersion(i));
+            writeVarInt(target, dictionary.get(changeLog.getProductId(i)));
+        }
+    }
+
+    private static CartChangeLog readChangeLog(ByteBuffer source, String[] dictionary) {
+        long evictedThrough = readVarLong(source) - 1;
+        int entryCount = readCount(source, "Change log size");
+        CartChangeLog changeLog = new CartChangeLog(
+                Math.max(CartChangeLog.DEFAULT_CAPACITY, entryCount), evictedThrough);
+        for (int i = 0; i < entryCount; i++) {
+            long version = readVarLong(source);
+            changeLog.record(version, dictionary[readIndex(source, dictionary)]);
+        }
+        return changeLog;
+    }
+
+    private static void writeProduct(Product product, ByteBuffer target) {
+        writeHeader(target, TYPE_PRODUCT);
+        writeString(target, product.getId());
+        writeString(target, product.getName());
+        target.putDouble(product.getPrice());
+        writeVarInt(target, product.getStockQuantity());
+        target.put(product.isActive() ? (byte) 1 : (byte) 0);
+    }
+
+    private static void writeHeader(ByteBuffer target, byte type) {
+        target.put(MAGIC).put(FORMAT_VERSION).put(type);
+    }
+
+    private static byte readHeader(ByteBuffer source, byte expectedType) {
+        if (source.get() != MAGIC) {
+            throw new CartSerializationException("Not a binary cart payload");
+        }
+        byte version = source.get();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new CartSerializationException("Unsupported format version: " + version);
+        }
+        byte type = source.get();
+        if (type != expectedType) {
+            throw new CartSerializationException("Unexpected payload type: " + type);
+        }
+        return version;
+    }
+
+    // Unsigned LEB128; negative ints round-trip but always take five bytes
+    static void writeVarInt(ByteBuffer target, int value) {
+        while ((value & ~0x7F) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    static int readVarInt(ByteBuffer source) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = source.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new CartSerializationException("Malformed varint");
+    }
+
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeVarLong(ByteBuffer target, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    static long readVarLong(ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = source.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new CartSerializationException("Malformed varint");
+    }
+
+    static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    // Every counted entry takes at least one byte, so a count can never exceed what's left
+    private static int readCount(ByteBuffer source, String what) {
+        int count = readVarInt(source);
+        if (count < 0 || count > source.remaining()) {
+            throw new CartSerializationException(what + " out of range: " + count);
+        }
+        return count;
+    }
+
+    private static int stringSize(String value) {
+        int length = utf8Length(value);
+        return varIntSize(length) + length;
+    }
+
+    private static void writeString(ByteBuffer target, String value) {
+        writeVarInt(target, utf8Length(value));
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xC0 | (c >> 6)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                target.put((byte) (0xF0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced the same way String.getBytes does
+                target.put((byte) '?');
+            } else {
+                target.put((byte) (0xE0 | (c >> 12)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer source) {
+        int length = readVarInt(source);
+        if (length < 0 || length > source.remaining()) {
+            throw new CartSerializationException("String length out of range: " + length);
+        }
+        String value;
+        if (source.hasArray()) {
+            value = new String(source.array(), source.arrayOffset() + source.position(), length,
+                    StandardCharsets.UTF_8);
+            source.position(source.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,53 @@
+package com.shoppingcart.serialization;
+
+import com.shoppingcart.exception.CartSerializationException;
+import com.shoppingcart.model.Cart;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Serves carts as {@code application/x-cart-binary} when a client asks for it in the
+ * {@code Accept} header. JSON stays the default for everyone else.
+ */
+@Component
+public class CartBinaryHttpMessageConverter extends AbstractHttpMessageConverter<Cart> {
+    public static final String CART_BINARY_VALUE = "application/x-cart-binary";
+    public static final MediaType CART_BINARY = MediaType.parseMediaType(CART_BINARY_VALUE);
+
+    public CartBinaryHttpMessageConverter() {
+        super(CART_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Cart.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected Cart readInternal(Class<? extends Cart> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return CartBinaryCodec.decode(ByteBuffer.wrap(inputMessage.getBody().readAllBytes()));
+        } catch (CartSerializationException e) {
+            throw new HttpMessageNotReadableException("Invalid binary cart payload", e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Cart cart, HttpOutputMessage outputMessage) throws IOException {
+        ByteBuffer buffer = CartBinaryCodec.encode(cart);
+        outputMessage.getBody().write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+
+    @Override
+    protected Long getContentLength(Cart cart, MediaType contentType) {
+        return (long) CartBinaryCodec.encodedSize(List.of(cart));
+    }
+}
@@ -0,0 +1,31 @@
+package com.shoppingcart.serialization;
+
+import com.shoppingcart.model.CartChangeLog;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stores a cart's change ring in a single column using the binary codec, so the ring is
+ * loaded and saved together with the cart row
+ */
+@Converter
+public class CartChangeLogConverter implements AttributeConverter<CartChangeLog, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(CartChangeLog changeLog) {
+        if (changeLog == null) {
+            return null;
+        }
+        ByteBuffer encoded = CartBinaryCodec.encode(changeLog);
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public CartChangeLog convertToEntityAttribute(byte[] column) {
+        return column == null ? null : CartBinaryCodec.decodeChangeLog(ByteBuffer.wrap(column));
+    }
+}
@@ -2,6 +2,7 @@ package com.shoppingcart.service;
 
 import com.shoppingcart.exception.*;
 import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartDelta;
 
 public interface CartService {
     /**
@@ -29,6 +30,16 @@ public interface CartService {
      */
     Cart getCart(String userId);
 
+    /**
+     * Retrieves the lines of a user's shopping cart that changed after the given version
+     *
+     * @param userId The ID of the user
+     * @param sinceVersion The last cart version the client has seen
+     * @return The changed and removed lines, or the full cart if the version is too old to replay
+     * @throws CartNotFoundException if the cart doesn't exist
+     */
+    CartDelta getCartChanges(String userId, long sinceVersion);
+
     /**
      * Removes an item from the user's shopping cart
      *
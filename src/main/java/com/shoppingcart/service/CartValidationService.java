@@ -0,0 +1,19 @@
+package com.shoppingcart.service;
+
+import com.shoppingcart.exception.*;
+import com.shoppingcart.model.CartValidationResult;
+
+public interface CartValidationService {
+    /**
+     * Revalidates every line of a user's cart ahead of checkout: the product exists, is
+     * active, has enough stock and still has the price the line was added at. Products are
+     * looked up in parallel batches; lines whose lookup misses the deadline are reported as
+     * not checked rather than failing the whole validation.
+     *
+     * @param userId The ID of the user
+     * @return A verdict for each line, in cart order
+     * @throws IllegalArgumentException if userId is null/empty
+     * @throws CartNotFoundException if the cart doesn't exist
+     */
+    CartValidationResult validateCart(String userId);
+}
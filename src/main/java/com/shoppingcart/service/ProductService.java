@@ -2,7 +2,9 @@ package com.shoppingcart.service;
 
 import com.shoppingcart.exception.ProductNotFoundException;
 import com.shoppingcart.model.Product;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ProductService {
     /**
@@ -14,6 +16,14 @@ public interface ProductService {
      */
     Product getProduct(String productId);
 
+    /**
+     * Retrieves several products in a single repository read
+     *
+     * @param productIds The IDs of the products to retrieve
+     * @return The products found, keyed by ID; IDs that don't exist are absent
+     */
+    Map<String, Product> getProducts(Collection<String> productIds);
+
     /**
      * Retrieves all active products
      *
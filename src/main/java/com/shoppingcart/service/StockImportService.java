@@ -0,0 +1,54 @@
+package com.shoppingcart.service;
+
+import com.shoppingcart.exception.StockImportException;
+import com.shoppingcart.model.StockImportFormat;
+import com.shoppingcart.model.StockImportJob;
+import com.shoppingcart.model.StockImportReport;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface StockImportService {
+    /**
+     * Streams stock levels from the input and applies them in fixed-size batches on the
+     * calling thread. Rows that fail validation or name an unknown product, and every row of
+     * a batch whose update fails, are rejected without failing the import.
+     *
+     * @param input The CSV or NDJSON stock levels, read as UTF-8
+     * @param format The format of the input
+     * @return Counts, throughput and rejected rows for the import
+     * @throws StockImportException if the input can't be read
+     */
+    StockImportReport importStock(InputStream input, StockImportFormat format);
+
+    /**
+     * Imports a stock file on a background thread
+     *
+     * @param file The CSV or NDJSON file to import
+     * @param format The format of the file
+     * @return A future completing with the import report, or exceptionally with
+     *         StockImportException if the file can't be read
+     */
+    CompletableFuture<StockImportReport> importStockAsync(Path file, StockImportFormat format);
+
+    /**
+     * Stages the upload in a temporary file and imports it on a background thread, so the
+     * caller isn't held for the length of the import. The file is deleted once the job ends.
+     *
+     * @param input The CSV or NDJSON stock levels, read as UTF-8
+     * @param format The format of the input
+     * @return The running job; poll {@link #getImportJob(String)} for its report
+     * @throws StockImportException if the upload can't be staged or the import can't be scheduled
+     */
+    StockImportJob submitImport(InputStream input, StockImportFormat format);
+
+    /**
+     * Returns a recently submitted import job
+     *
+     * @param jobId The ID returned by {@link #submitImport(InputStream, StockImportFormat)}
+     * @return The job, or empty if it's unknown or has been evicted
+     */
+    Optional<StockImportJob> getImportJob(String jobId);
+}
@@ -2,6 +2,7 @@ package com.shoppingcart.service.impl;
 
 import com.shoppingcart.exception.*;
 import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartDelta;
 import com.shoppingcart.model.CartItem;
 import com.shoppingcart.model.Product;
 import com.shoppingcart.repository.CartRepository;
@@ -11,7 +12,10 @@ import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CartServiceImpl implements CartService {
@@ -67,6 +71,7 @@ public class CartServiceImpl implements CartService {
             } else {
                 cart.addItem(new CartItem(productId, quantity, product.getPrice()));
             }
+            cart.markChanged(productId);
 
             try {
                 cartRepository.save(cart);
@@ -102,6 +107,27 @@ public class CartServiceImpl implements CartService {
                 .orElseThrow(() -> new CartNotFoundException("Cart not found for user: " + userId));
     }
 
+    @Override
+    public CartDelta getCartChanges(String userId, long sinceVersion) {
+        Cart cart = getCart(userId);
+        Optional<Set<String>> changed = cart.getChangedProductIdsSince(sinceVersion);
+        if (changed.isEmpty()) {
+            return new CartDelta(userId, sinceVersion, cart.getVersion(), true,
+                    List.copyOf(cart.getItems()), List.of());
+        }
+
+        Set<String> remaining = changed.get();
+        List<CartItem> items = new ArrayList<>();
+        for (CartItem item : cart.getItems()) {
+            if (remaining.remove(item.getProductId())) {
+                items.add(item);
+            }
+        }
+        // Whatever changed but is no longer in the cart was removed
+        return new CartDelta(userId, sinceVersion, cart.getVersion(), false,
+                items, List.copyOf(remaining));
+    }
+
     @Override
     @Transactional
     public void removeItemFromCart(String userId, String productId) {
@@ -113,8 +139,10 @@ public class CartServiceImpl implements CartService {
         }
 
         Cart cart = getCart(userId);
-        cart.getItems().removeIf(item -> item.getProductId().equals(productId));
-        
+        if (cart.getItems().removeIf(item -> item.getProductId().equals(productId))) {
+            cart.markChanged(productId);
+        }
+
         try {
             cartRepository.save(cart);
         } catch (RuntimeException e) {
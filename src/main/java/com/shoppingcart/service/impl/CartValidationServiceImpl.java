@@ -0,0 +1,130 @@
+package com.shoppingcart.service.impl;
+
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartItem;
+import com.shoppingcart.model.CartLineStatus;
+import com.shoppingcart.model.CartLineVerdict;
+import com.shoppingcart.model.CartValidationResult;
+import com.shoppingcart.model.Product;
+import com.shoppingcart.service.CartService;
+import com.shoppingcart.service.CartValidationService;
+import com.shoppingcart.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class CartValidationServiceImpl implements CartValidationService {
+    private final CartService cartService;
+    private final ProductService productService;
+    private final TaskExecutor taskExecutor;
+    private final Duration deadline;
+    private final int lookupBatchSize;
+
+    /**
+     * @param lookupBatchSize Product IDs per batched read. Defaults to a full cart, so a cart
+     *                        is looked up in a single read and only fans out if this is lowered
+     */
+    public CartValidationServiceImpl(CartService cartService, ProductService productService,
+                                     TaskExecutor taskExecutor,
+                                     @Value("${shoppingcart.checkout.validation-deadline:500ms}") Duration deadline,
+                                     @Value("${shoppingcart.checkout.lookup-batch-size:#{T(com.shoppingcart.model.Cart).MAX_ITEMS}}")
+                                     int lookupBatchSize) {
+        if (lookupBatchSize <= 0) {
+            throw new IllegalArgumentException("Lookup batch size must be greater than zero");
+        }
+        this.cartService = cartService;
+        this.productService = productService;
+        this.taskExecutor = taskExecutor;
+        this.deadline = deadline;
+        this.lookupBatchSize = lookupBatchSize;
+    }
+
+    @Override
+    public CartValidationResult validateCart(String userId) {
+        Cart cart = cartService.getCart(userId);
+        Map<String, Product> products = lookUpProducts(cart);
+
+        List<CartLineVerdict> lines = new ArrayList<>(cart.getItems().size());
+        for (CartItem item : cart.getItems()) {
+            lines.add(verdictFor(item, products));
+        }
+        return new CartValidationResult(userId, cart.getVersion(), lines);
+    }
+
+    private Map<String, Product> lookUpProducts(Cart cart) {
+        List<String> productIds = new ArrayList<>(new LinkedHashSet<>(
+                cart.getItems().stream().map(CartItem::getProductId).toList()));
+
+        // One batched read per slice, all slices in flight at once so latency stays flat
+        List<List<String>> slices = new ArrayList<>();
+        List<CompletableFuture<Map<String, Product>>> lookups = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += lookupBatchSize) {
+            List<String> slice = productIds.subList(from, Math.min(from + lookupBatchSize, productIds.size()));
+            slices.add(slice);
+            lookups.add(CompletableFuture.supplyAsync(() -> productService.getProducts(slice), taskExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0]))
+                    .get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Fall through with whatever finished; the rest are reported as not checked
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Products looked up but not found map to null so they can be told apart from unchecked ones
+        Map<String, Product> products = new HashMap<>();
+        for (int i = 0; i < lookups.size(); i++) {
+            CompletableFuture<Map<String, Product>> lookup = lookups.get(i);
+            if (!lookup.isDone() || lookup.isCompletedExceptionally()) {
+                // Only marks the future cancelled: CompletableFuture never interrupts the task, so a
+                // lookup past the deadline keeps its executor thread until the read returns
+                lookup.cancel(true);
+                continue;
+            }
+            Map<String, Product> found = lookup.join();
+            for (String productId : slices.get(i)) {
+                products.put(productId, found.get(productId));
+            }
+        }
+        return products;
+    }
+
+    private CartLineVerdict verdictFor(CartItem item, Map<String, Product> products) {
+        if (!products.containsKey(item.getProductId())) {
+            return verdict(item, null, CartLineStatus.NOT_CHECKED);
+        }
+        Product product = products.get(item.getProductId());
+        if (product == null) {
+            return verdict(item, null, CartLineStatus.PRODUCT_NOT_FOUND);
+        }
+        if (!product.isActive()) {
+            return verdict(item, product, CartLineStatus.PRODUCT_NOT_AVAILABLE);
+        }
+        if (product.getStockQuantity() < item.getQuantity()) {
+            return verdict(item, product, CartLineStatus.INSUFFICIENT_STOCK);
+        }
+        if (Double.compare(product.getPrice(), item.getPrice()) != 0) {
+            return verdict(item, product, CartLineStatus.PRICE_CHANGED);
+        }
+        return verdict(item, product, CartLineStatus.VALID);
+    }
+
+    private static CartLineVerdict verdict(CartItem item, Product product, CartLineStatus status) {
+        return new CartLineVerdict(item.getProductId(), item.getQuantity(), item.getPrice(),
+                product == null ? null : product.getPrice(), status);
+    }
+}
@@ -7,7 +7,10 @@ import com.shoppingcart.service.ProductService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ProductServiceImpl implements ProductService {
@@ -26,6 +29,21 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
     }
 
+    @Override
+    public Map<String, Product> getProducts(Collection<String> productIds) {
+        if (productIds == null) {
+            throw new IllegalArgumentException("Product IDs cannot be null");
+        }
+        Map<String, Product> products = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return products;
+        }
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
     @Override
     public List<Product> getAllActiveProducts() {
         return productRepository.findByActiveTrue();
@@ -0,0 +1,326 @@
+package com.shoppingcart.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppingcart.event.StockLevelsUpdatedEvent;
+import com.shoppingcart.exception.StockImportException;
+import com.shoppingcart.model.StockImportFormat;
+import com.shoppingcart.model.StockImportJob;
+import com.shoppingcart.model.StockImportReject;
+import com.shoppingcart.model.StockImportReport;
+import com.shoppingcart.service.StockImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+public class StockImportServiceImpl implements StockImportService {
+    public static final int BATCH_SIZE = 1000;
+    public static final int MAX_REPORTED_REJECTS = 1000;
+    public static final int MAX_RETAINED_JOBS = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(StockImportServiceImpl.class);
+    private static final String UPDATE_STOCK_SQL = "UPDATE product SET stock_quantity = ? WHERE id = ?";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+
+    // Oldest jobs are forgotten first once the limit is reached
+    private final Map<String, StockImportJob> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StockImportJob> eldest) {
+                    return size() > MAX_RETAINED_JOBS;
+                }
+            });
+
+    public StockImportServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                                  TaskExecutor taskExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public StockImportReport importStock(InputStream input, StockImportFormat format) {
+        if (input == null || format == null) {
+            throw new IllegalArgumentException("Input and format cannot be null");
+        }
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        return importStock(reader, format);
+    }
+
+    @Override
+    public CompletableFuture<StockImportReport> importStockAsync(Path file, StockImportFormat format) {
+        if (file == null || format == null) {
+            throw new IllegalArgumentException("File and format cannot be null");
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                return importStock(reader, format);
+            } catch (IOException e) {
+                throw new StockImportException("Failed to read stock file: " + file, e);
+            }
+        }, taskExecutor);
+    }
+
+    @Override
+    public StockImportJob submitImport(InputStream input, StockImportFormat format) {
+        if (input == null || format == null) {
+            throw new IllegalArgumentException("Input and format cannot be null");
+        }
+        Path file = stage(input, format);
+        StockImportJob job = new StockImportJob(UUID.randomUUID().toString(), format, Instant.now());
+        jobs.put(job.getId(), job);
+
+        CompletableFuture<StockImportReport> future;
+        try {
+            future = importStockAsync(file, format);
+        } catch (RejectedExecutionException e) {
+            // Nothing will run to clean up after the job, so end it here rather than leave it RUNNING
+            deleteQuietly(file);
+            job.fail("Import executor is saturated");
+            throw new StockImportException("Stock import could not be scheduled", e);
+        }
+        future.whenComplete((report, error) -> {
+            deleteQuietly(file);
+            if (error == null) {
+                job.complete(report);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                log.warn("Stock import {} failed", job.getId(), cause);
+                job.fail(cause.getMessage());
+            }
+        });
+        return job;
+    }
+
+    @Override
+    public Optional<StockImportJob> getImportJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private static Path stage(InputStream input, StockImportFormat format) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("stock-import-", "." + format.name().toLowerCase());
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            throw new StockImportException("Failed to stage stock upload", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged stock file {}", file, e);
+        }
+    }
+
+    private StockImportReport importStock(BufferedReader reader, StockImportFormat format) {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        List<RawLine> chunk = new ArrayList<>(BATCH_SIZE);
+        long lineNumber = 0;
+
+        // Only one chunk of raw lines is held at a time, whatever the size of the input
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && isCsvHeader(line, format))) {
+                    continue;
+                }
+                chunk.add(new RawLine(lineNumber, line));
+                if (chunk.size() == BATCH_SIZE) {
+                    applyChunk(chunk, format, progress);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new StockImportException("Failed to read stock levels at line " + lineNumber, e);
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, format, progress);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new StockImportReport(progress.rowsRead, progress.rowsUpdated, progress.rowsRejected,
+                progress.batches, progress.failedBatches, elapsedMillis, progress.rejects);
+    }
+
+    private void applyChunk(List<RawLine> chunk, StockImportFormat format, ImportProgress progress) {
+        // Parsing and validation are CPU-bound and independent per row; order is preserved
+        List<ParsedRow> parsed = chunk.parallelStream()
+                .map(line -> parse(line, format))
+                .toList();
+        progress.rowsRead += parsed.size();
+
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error() != null) {
+                progress.reject(row, row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        int[][] counts;
+        try {
+            counts = transactionTemplate.execute(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, valid, valid.size(), (ps, row) -> {
+                        ps.setInt(1, row.quantity());
+                        ps.setString(2, row.productId());
+                    }));
+        } catch (DataAccessException | TransactionException e) {
+            // The batch rolled back on its own; later batches still get their chance
+            log.warn("Stock import batch of {} rows starting at line {} failed",
+                    valid.size(), valid.get(0).lineNumber(), e);
+            progress.failedBatches++;
+            String reason = "Batch update failed: " + e.getMostSpecificCause().getMessage();
+            for (ParsedRow row : valid) {
+                progress.reject(row, reason);
+            }
+            return;
+        }
+        progress.batches++;
+
+        int[] rowCounts = counts == null || counts.length == 0 ? new int[0] : counts[0];
+        List<String> updatedIds = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            // Drivers may answer SUCCESS_NO_INFO (-2) for batched statements; only 0 means no match
+            if (i < rowCounts.length && rowCounts[i] == 0) {
+                progress.reject(valid.get(i), "Product not found");
+            } else {
+                updatedIds.add(valid.get(i).productId());
+            }
+        }
+        progress.rowsUpdated += updatedIds.size();
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new StockLevelsUpdatedEvent(updatedIds));
+        }
+    }
+
+    private ParsedRow parse(RawLine line, StockImportFormat format) {
+        String productId;
+        String quantityText;
+        if (format == StockImportFormat.CSV) {
+            String[] fields = line.text().split(",", -1);
+            if (fields.length != 2) {
+                return ParsedRow.rejected(line, null, "Expected productId,quantity");
+            }
+            productId = unquote(fields[0]);
+            quantityText = unquote(fields[1]);
+        } else {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line.text());
+            } catch (IOException e) {
+                return ParsedRow.rejected(line, null, "Malformed JSON");
+            }
+            if (node == null || !node.isObject()) {
+                return ParsedRow.rejected(line, null, "Expected a JSON object");
+            }
+            JsonNode quantityNode = node.path("quantity");
+            productId = node.path("productId").asText(null);
+            if (!quantityNode.isIntegralNumber() || !quantityNode.canConvertToInt()) {
+                return ParsedRow.rejected(line, productId, "Quantity must be an integer");
+            }
+            quantityText = quantityNode.asText();
+        }
+
+        if (productId == null || productId.trim().isEmpty()) {
+            return ParsedRow.rejected(line, productId, "Product ID cannot be null or empty");
+        }
+        int quantity;
+        try {
+            quantity = Integer.parseInt(quantityText);
+        } catch (NumberFormatException e) {
+            return ParsedRow.rejected(line, productId, "Quantity must be an integer");
+        }
+        if (quantity < 0) {
+            return ParsedRow.rejected(line, productId, "Stock quantity cannot be negative");
+        }
+        return new ParsedRow(line.number(), productId, quantity, null);
+    }
+
+    private static boolean isCsvHeader(String line, StockImportFormat format) {
+        return format == StockImportFormat.CSV && line.trim().toLowerCase().startsWith("productid");
+    }
+
+    private static String unquote(String field) {
+        String trimmed = field.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private record RawLine(long number, String text) {
+    }
+
+    private record ParsedRow(long lineNumber, String productId, int quantity, String error) {
+        static ParsedRow rejected(RawLine line, String productId, String error) {
+            return new ParsedRow(line.number(), productId, 0, error);
+        }
+    }
+
+    private static class ImportProgress {
+        private long rowsRead;
+        private long rowsUpdated;
+        private long rowsRejected;
+        private int batches;
+        private int failedBatches;
+        private final List<StockImportReject> rejects = new ArrayList<>();
+
+        void reject(ParsedRow row, String reason) {
+            rowsRejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new StockImportReject(row.lineNumber(), row.productId(), reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.shoppingcart.tracing;
+
+/**
+ * Running totals for every sampled trace of one service operation, so a change in the
+ * number of round-trips per call shows up without digging through individual traces.
+ */
+public class OperationTraceStats {
+    private final String operation;
+    private long traces;
+    private long repositoryCalls;
+    private long maxRepositoryCalls;
+    private long sqlStatements;
+    private long maxSqlStatements;
+    private long repositoryMicros;
+
+    public OperationTraceStats(String operation) {
+        this.operation = operation;
+    }
+
+    synchronized void record(RepositoryTrace trace) {
+        traces++;
+        repositoryCalls += trace.getRepositoryCallCount();
+        maxRepositoryCalls = Math.max(maxRepositoryCalls, trace.getRepositoryCallCount());
+        sqlStatements += trace.getSqlStatementCount();
+        maxSqlStatements = Math.max(maxSqlStatements, trace.getSqlStatementCount());
+        repositoryMicros += trace.getRepositoryMicros();
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public synchronized long getTraces() {
+        return traces;
+    }
+
+    public synchronized double getAverageRepositoryCalls() {
+        return traces == 0 ? 0 : (double) repositoryCalls / traces;
+    }
+
+    public synchronized long getMaxRepositoryCalls() {
+        return maxRepositoryCalls;
+    }
+
+    public synchronized double getAverageSqlStatements() {
+        return traces == 0 ? 0 : (double) sqlStatements / traces;
+    }
+
+    public synchronized long getMaxSqlStatements() {
+        return maxSqlStatements;
+    }
+
+    public synchronized double getAverageRepositoryMicros() {
+        return traces == 0 ? 0 : (double) repositoryMicros / traces;
+    }
+}
@@ -0,0 +1,33 @@
+package com.shoppingcart.tracing;
+
+import java.util.List;
+
+public class RepositoryCall {
+    private final String method;
+    private final long durationMicros;
+    private final List<String> sql;
+
+    public RepositoryCall(String method, long durationMicros, List<String> sql) {
+        this.method = method;
+        this.durationMicros = durationMicros;
+        this.sql = sql;
+    }
+
+    /**
+     * The repository method, e.g. {@code CartRepository.findByUserId}
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    /**
+     * The SQL statements Hibernate issued while the call was running
+     */
+    public List<String> getSql() {
+        return sql;
+    }
+}
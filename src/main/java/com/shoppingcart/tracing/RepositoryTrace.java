@@ -0,0 +1,65 @@
+package com.shoppingcart.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository round-trips made by one sampled service call. SQL issued outside any
+ * repository method, such as the flush on commit, is listed under {@code unattributedSql}.
+ */
+public class RepositoryTrace {
+    private final String operation;
+    private final Instant startedAt;
+    private final long durationMicros;
+    private final List<RepositoryCall> repositoryCalls;
+    private final List<String> unattributedSql;
+
+    public RepositoryTrace(String operation, Instant startedAt, long durationMicros,
+                           List<RepositoryCall> repositoryCalls, List<String> unattributedSql) {
+        this.operation = operation;
+        this.startedAt = startedAt;
+        this.durationMicros = durationMicros;
+        this.repositoryCalls = repositoryCalls;
+        this.unattributedSql = unattributedSql;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public List<RepositoryCall> getRepositoryCalls() {
+        return repositoryCalls;
+    }
+
+    public List<String> getUnattributedSql() {
+        return unattributedSql;
+    }
+
+    public int getRepositoryCallCount() {
+        return repositoryCalls.size();
+    }
+
+    public int getSqlStatementCount() {
+        int count = unattributedSql.size();
+        for (RepositoryCall call : repositoryCalls) {
+            count += call.getSql().size();
+        }
+        return count;
+    }
+
+    public long getRepositoryMicros() {
+        long total = 0;
+        for (RepositoryCall call : repositoryCalls) {
+            total += call.getDurationMicros();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,28 @@
+package com.shoppingcart.tracing;
+
+import java.util.List;
+
+public class RepositoryTraceReport {
+    private final double sampleRate;
+    private final List<OperationTraceStats> operations;
+    private final List<RepositoryTrace> recentTraces;
+
+    public RepositoryTraceReport(double sampleRate, List<OperationTraceStats> operations,
+                                 List<RepositoryTrace> recentTraces) {
+        this.sampleRate = sampleRate;
+        this.operations = operations;
+        this.recentTraces = recentTraces;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public List<OperationTraceStats> getOperations() {
+        return operations;
+    }
+
+    public List<RepositoryTrace> getRecentTraces() {
+        return recentTraces;
+    }
+}
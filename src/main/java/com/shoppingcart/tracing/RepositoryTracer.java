@@ -0,0 +1,202 @@
+package com.shoppingcart.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records the repository calls and SQL statements made by a sample of service calls.
+ * State lives in a thread local for the duration of the sampled call. Callers check
+ * {@link #shouldTrace()} or {@link #isTracing()} before building any operation name, so
+ * an unsampled service call costs a thread local lookup and a random draw, and a
+ * repository call or SQL statement outside a trace a single thread local lookup.
+ * Work handed to other threads is traced separately there.
+ */
+@Component
+public class RepositoryTracer {
+    public static final int MAX_RECENT_TRACES = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryTracer.class);
+
+    private final double sampleRate;
+    private final ThreadLocal<ActiveTrace> current = new ThreadLocal<>();
+    private final Map<String, OperationTraceStats> stats = new ConcurrentHashMap<>();
+    private final Deque<RepositoryTrace> recentTraces = new ArrayDeque<>();
+
+    public RepositoryTracer(@Value("${shoppingcart.tracing.sample-rate:0.01}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Decides whether the service call about to run on this thread is traced: false if a
+     * trace is already running here or the call isn't sampled
+     */
+    public boolean shouldTrace() {
+        if (sampleRate == 0 || current.get() != null) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Returns true while a trace is running on this thread
+     */
+    public boolean isTracing() {
+        return current.get() != null;
+    }
+
+    /**
+     * Starts a trace for the given operation once {@link #shouldTrace()} said so
+     *
+     * @return true if a trace was started and {@link #endTrace()} must be called, false if
+     *         one is already running on this thread
+     */
+    public boolean beginTrace(String operation) {
+        if (current.get() != null) {
+            return false;
+        }
+        current.set(new ActiveTrace(operation));
+        return true;
+    }
+
+    public void endTrace() {
+        ActiveTrace active = current.get();
+        if (active == null) {
+            return;
+        }
+        current.remove();
+        RepositoryTrace trace = active.finish();
+        stats.computeIfAbsent(trace.getOperation(), OperationTraceStats::new).record(trace);
+        synchronized (recentTraces) {
+            if (recentTraces.size() == MAX_RECENT_TRACES) {
+                recentTraces.removeFirst();
+            }
+            recentTraces.addLast(trace);
+        }
+        if (log.isInfoEnabled()) {
+            log.info("repository_trace operation={} durationMicros={} repositoryCalls={} sqlStatements={} repositoryMicros={} calls={}",
+                    trace.getOperation(), trace.getDurationMicros(), trace.getRepositoryCallCount(),
+                    trace.getSqlStatementCount(), trace.getRepositoryMicros(), describeCalls(trace));
+        }
+    }
+
+    /**
+     * Marks the start of a repository call within the current trace
+     *
+     * @return true if the call is being traced and {@link #endRepositoryCall()} must be called
+     */
+    public boolean beginRepositoryCall(String method) {
+        ActiveTrace active = current.get();
+        // Repository methods don't nest; anything called from inside one belongs to it
+        if (active == null || active.openCall != null) {
+            return false;
+        }
+        active.openCall = new OpenCall(method);
+        return true;
+    }
+
+    public void endRepositoryCall() {
+        ActiveTrace active = current.get();
+        if (active == null || active.openCall == null) {
+            return;
+        }
+        OpenCall call = active.openCall;
+        active.openCall = null;
+        active.calls.add(new RepositoryCall(call.method, micros(System.nanoTime() - call.startNanos), call.sql));
+    }
+
+    /**
+     * Attributes a SQL statement to the repository call running on this thread, if traced
+     */
+    public void recordSql(String sql) {
+        ActiveTrace active = current.get();
+        if (active == null) {
+            return;
+        }
+        if (active.openCall != null) {
+            active.openCall.sql.add(sql);
+        } else {
+            active.unattributedSql.add(sql);
+        }
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public RepositoryTraceReport report() {
+        List<OperationTraceStats> operations = new ArrayList<>(stats.values());
+        operations.sort(Comparator.comparing(OperationTraceStats::getOperation));
+        List<RepositoryTrace> recent;
+        synchronized (recentTraces) {
+            recent = new ArrayList<>(recentTraces);
+        }
+        return new RepositoryTraceReport(sampleRate, operations, recent);
+    }
+
+    public void reset() {
+        stats.clear();
+        synchronized (recentTraces) {
+            recentTraces.clear();
+        }
+    }
+
+    private static String describeCalls(RepositoryTrace trace) {
+        StringBuilder description = new StringBuilder("[");
+        for (RepositoryCall call : trace.getRepositoryCalls()) {
+            if (description.length() > 1) {
+                description.append(", ");
+            }
+            description.append(call.getMethod())
+                    .append(':').append(call.getDurationMicros()).append("us")
+                    .append(':').append(call.getSql().size()).append("sql");
+        }
+        return description.append(']').toString();
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+
+    private static class ActiveTrace {
+        private final String operation;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final List<RepositoryCall> calls = new ArrayList<>();
+        private final List<String> unattributedSql = new ArrayList<>();
+        private OpenCall openCall;
+
+        ActiveTrace(String operation) {
+            this.operation = operation;
+        }
+
+        RepositoryTrace finish() {
+            return new RepositoryTrace(operation, startedAt, micros(System.nanoTime() - startNanos),
+                    calls, unattributedSql);
+        }
+    }
+
+    private static class OpenCall {
+        private final String method;
+        private final long startNanos = System.nanoTime();
+        private final List<String> sql = new ArrayList<>();
+
+        OpenCall(String method) {
+            this.method = method;
+        }
+    }
+}
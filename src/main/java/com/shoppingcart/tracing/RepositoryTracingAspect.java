@@ -0,0 +1,69 @@
+package com.shoppingcart.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a trace around each public service call and times every Spring Data repository
+ * call made inside it. Runs outside the transaction advice so the flush on commit is
+ * still inside the trace.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RepositoryTracingAspect {
+    private static final String REPOSITORY_PACKAGE = "com.shoppingcart.repository";
+
+    private final RepositoryTracer tracer;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryTracingAspect(RepositoryTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    // Names are only built once the call is known to be traced
+    @Around("execution(public * com.shoppingcart.service.impl..*(..))")
+    public Object traceServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.shouldTrace() || !tracer.beginTrace(joinPoint.getTarget().getClass().getSimpleName()
+                + "." + joinPoint.getSignature().getName())) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            tracer.endTrace();
+        }
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isTracing()
+                || !tracer.beginRepositoryCall(repositoryName(joinPoint) + "." + joinPoint.getSignature().getName())) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            tracer.endRepositoryCall();
+        }
+    }
+
+    // Inherited methods like save() are declared on CrudRepository; name them after our interface
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        return repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), proxyClass -> {
+            for (Class<?> candidate : proxyClass.getInterfaces()) {
+                if (candidate.getPackageName().startsWith(REPOSITORY_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.shoppingcart.tracing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands every SQL statement Hibernate prepares to the tracer, unchanged
+ */
+public class SqlCapturingStatementInspector implements StatementInspector {
+    private final RepositoryTracer tracer;
+
+    public SqlCapturingStatementInspector(RepositoryTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        tracer.recordSql(sql);
+        return sql;
+    }
+}
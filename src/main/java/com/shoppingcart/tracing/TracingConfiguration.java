@@ -0,0 +1,16 @@
+package com.shoppingcart.tracing;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlCapturingStatementInspector(RepositoryTracer tracer) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SqlCapturingStatementInspector(tracer));
+    }
+}
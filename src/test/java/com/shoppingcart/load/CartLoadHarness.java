@@ -0,0 +1,168 @@
+package com.shoppingcart.load;
+
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartItem;
+import com.shoppingcart.model.Product;
+import com.shoppingcart.service.CartService;
+import com.shoppingcart.service.ProductService;
+import com.shoppingcart.service.impl.CartServiceImpl;
+import com.shoppingcart.service.impl.ProductServiceImpl;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the real {@link CartServiceImpl} and {@link ProductServiceImpl} from many threads
+ * against an {@link InMemoryStore}, then checks the final state for lost cart updates and
+ * carts holding more units than the product has in stock.
+ */
+class CartLoadHarness {
+    enum Operation { ADD, REMOVE, GET }
+
+    private final LoadWorkload workload;
+    private final InMemoryStore store;
+    private final CartService cartService;
+    private final ZipfDistribution productPopularity;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> errorsByType = new ConcurrentHashMap<>();
+    // Units successfully added per user/product line, for lines that were never removed
+    private final Map<String, LongAdder> addedUnits = new ConcurrentHashMap<>();
+    private final Set<String> removedLines = ConcurrentHashMap.newKeySet();
+
+    CartLoadHarness(LoadWorkload workload) {
+        this.workload = workload;
+        this.store = new InMemoryStore(workload.optimisticLocking);
+        ProductService productService = new ProductServiceImpl(store.productRepository());
+        this.cartService = new CartServiceImpl(store.cartRepository(), productService);
+        this.productPopularity = new ZipfDistribution(workload.products, workload.zipfExponent);
+
+        for (int i = 0; i < workload.products; i++) {
+            store.putProduct(new Product(LoadWorkload.productId(i), "Product " + i, 1.0 + i % 50, workload.initialStock));
+        }
+        store.putProduct(new Product(workload.flashSaleProductId(), "Flash sale", 9.99, workload.flashSaleStock));
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + workload.warmup.toNanos();
+        long end = measureFrom + workload.duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(workload.threads);
+        for (int i = 0; i < workload.threads; i++) {
+            workers.execute(() -> drive(start, measureFrom, end));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(workload.warmup.plus(workload.duration).toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+            throw new IllegalStateException("Load workers did not finish in time");
+        }
+
+        LoadReport report = new LoadReport(workload, latencies, errors, errorsByType);
+        verifyFinalState(report);
+        return report;
+    }
+
+    private void drive(long start, long measureFrom, long end) {
+        Random random = ThreadLocalRandom.current();
+        int totalWeight = workload.addWeight + workload.removeWeight + workload.getWeight;
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            boolean measuring = now >= measureFrom;
+            String userId = LoadWorkload.userId(random.nextInt(workload.users));
+            int pick = random.nextInt(totalWeight);
+            Operation operation = pick < workload.addWeight ? Operation.ADD
+                    : pick < workload.addWeight + workload.removeWeight ? Operation.REMOVE
+                    : Operation.GET;
+            String productId = operation == Operation.ADD && inFlashSale(now - start)
+                    ? workload.flashSaleProductId()
+                    : LoadWorkload.productId(productPopularity.sample(random));
+
+            long began = System.nanoTime();
+            try {
+                execute(operation, userId, productId, random);
+            } catch (RuntimeException e) {
+                if (measuring) {
+                    errors.get(operation).increment();
+                    errorsByType.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                }
+            }
+            if (measuring) {
+                latencies.get(operation).recordValue((System.nanoTime() - began) / 1_000);
+            }
+        }
+    }
+
+    private void execute(Operation operation, String userId, String productId, Random random) {
+        switch (operation) {
+            case ADD -> {
+                int quantity = 1 + random.nextInt(workload.maxQuantity);
+                cartService.addItemToCart(userId, productId, quantity);
+                addedUnits.computeIfAbsent(line(userId, productId), k -> new LongAdder()).add(quantity);
+            }
+            case REMOVE -> {
+                // Marked before the call: a remove that fails after saving still clears the line
+                removedLines.add(line(userId, productId));
+                cartService.removeItemFromCart(userId, productId);
+            }
+            case GET -> cartService.getCart(userId);
+        }
+    }
+
+    private boolean inFlashSale(long elapsedNanos) {
+        long every = workload.flashSaleEvery.toNanos();
+        return every > 0 && elapsedNanos % every >= every - workload.flashSaleLength.toNanos();
+    }
+
+    private void verifyFinalState(LoadReport report) {
+        Map<String, Long> unitsInCarts = new HashMap<>();
+        Map<String, Integer> finalQuantities = new HashMap<>();
+        for (Cart cart : store.carts()) {
+            for (CartItem item : cart.getItems()) {
+                unitsInCarts.merge(item.getProductId(), (long) item.getQuantity(), Long::sum);
+                finalQuantities.put(line(cart.getUserId(), item.getProductId()), item.getQuantity());
+            }
+        }
+
+        for (Map.Entry<String, LongAdder> entry : addedUnits.entrySet()) {
+            if (removedLines.contains(entry.getKey())) {
+                continue;
+            }
+            report.linesChecked++;
+            long missing = entry.getValue().sum() - finalQuantities.getOrDefault(entry.getKey(), 0);
+            if (missing > 0) {
+                report.lostUpdates++;
+                report.lostUnits += missing;
+            }
+        }
+
+        for (Map.Entry<String, Long> entry : unitsInCarts.entrySet()) {
+            Product product = store.products().get(entry.getKey());
+            long oversold = entry.getValue() - product.getStockQuantity();
+            if (oversold > 0) {
+                report.oversoldProducts++;
+                report.oversoldUnits += oversold;
+            }
+        }
+    }
+
+    private static String line(String userId, String productId) {
+        return userId + '|' + productId;
+    }
+}
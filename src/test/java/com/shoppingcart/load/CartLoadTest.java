@@ -0,0 +1,37 @@
+package com.shoppingcart.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Entry point for the load harness. Excluded from the default build; run it with
+ * {@code mvn test -Pload} and tune the workload with {@code -Dload.*} properties.
+ */
+@Tag("load")
+class CartLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CartLoadTest.class);
+
+    @Test
+    void runWorkload() throws Exception {
+        LoadWorkload workload = LoadWorkload.fromSystemProperties();
+
+        LoadReport report = new CartLoadHarness(workload).run();
+
+        String json = report.toJson();
+        Path reportPath = Path.of(workload.reportPath);
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        Files.writeString(reportPath, json);
+        log.info("Load report written to {}:\n{}", reportPath, json);
+        assertTrue(report.totalOperations() > 0);
+    }
+}
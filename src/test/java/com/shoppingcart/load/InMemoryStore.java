@@ -0,0 +1,156 @@
+package com.shoppingcart.load;
+
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.Product;
+import com.shoppingcart.repository.CartRepository;
+import com.shoppingcart.repository.ProductRepository;
+import com.shoppingcart.serialization.CartBinaryCodec;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Thread-safe stand-in for the database behind the repositories. Carts are stored as
+ * encoded snapshots so every read hands out a private copy, like a real persistence
+ * context would, and concurrent read-modify-write cycles can genuinely lose updates.
+ */
+class InMemoryStore {
+    private final Map<String, StoredCart> carts = new ConcurrentHashMap<>();
+    private final Map<String, Product> products = new ConcurrentHashMap<>();
+    private final boolean optimisticLocking;
+    // The service loads and saves a cart on the same thread, so the last load is enough to spot a clean save
+    private final ThreadLocal<LoadedCart> lastLoaded = new ThreadLocal<>();
+
+    InMemoryStore(boolean optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+    }
+
+    void putProduct(Product product) {
+        products.put(product.getId(), product);
+    }
+
+    Map<String, Product> products() {
+        return products;
+    }
+
+    List<Cart> carts() {
+        List<Cart> snapshot = new ArrayList<>(carts.size());
+        for (StoredCart stored : carts.values()) {
+            snapshot.add(stored.load());
+        }
+        return snapshot;
+    }
+
+    CartRepository cartRepository() {
+        return repository(CartRepository.class, (method, args) -> switch (method.getName()) {
+            case "findByUserId" -> findCart((String) args[0]);
+            case "save" -> saveCart((Cart) args[0]);
+            default -> throw unsupported(method);
+        });
+    }
+
+    ProductRepository productRepository() {
+        return repository(ProductRepository.class, (method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(products.get((String) args[0]));
+            case "findAllById" -> findProducts((Iterable<?>) args[0]);
+            case "findByActiveTrue" -> products.values().stream().filter(Product::isActive).toList();
+            case "save" -> saveProduct((Product) args[0]);
+            default -> throw unsupported(method);
+        });
+    }
+
+    private Optional<Cart> findCart(String userId) {
+        StoredCart stored = carts.get(userId);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        Cart cart = stored.load();
+        lastLoaded.set(new LoadedCart(cart, stored));
+        return Optional.of(cart);
+    }
+
+    private Cart saveCart(Cart cart) {
+        // Like a @Version entity, a cart unchanged since it was loaded isn't written, so it
+        // is neither version-checked nor bumped
+        LoadedCart loaded = lastLoaded.get();
+        lastLoaded.remove();
+        if (loaded != null && loaded.cart() == cart && StoredCart.of(cart, cart.getVersion()).equals(loaded.stored())) {
+            return cart;
+        }
+        carts.compute(cart.getUserId(), (userId, existing) -> {
+            if (optimisticLocking && existing != null
+                    && (!cart.hasBeenSaved() || cart.getVersion() != existing.version())) {
+                throw new OptimisticLockingFailureException("Stale cart for user: " + userId);
+            }
+            // Versions are assigned here as @Version would: zero on insert, one up on every update
+            long version = existing == null ? 0 : existing.version() + 1;
+            return StoredCart.of(cart, version);
+        });
+        return cart;
+    }
+
+    private List<Product> findProducts(Iterable<?> productIds) {
+        List<Product> found = new ArrayList<>();
+        for (Object productId : productIds) {
+            Product product = products.get((String) productId);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
+    private Product saveProduct(Product product) {
+        products.put(product.getId(), product);
+        return product;
+    }
+
+    // Plain JDK proxies rather than mocks, so the recorded latencies are the service's and the
+    // store's, not a mocking framework's argument matching and answer dispatch
+    private static <T> T repository(Class<T> type, BiFunction<Method, Object[], Object> operations) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "In-memory " + type.getSimpleName();
+                };
+            }
+            return operations.apply(method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static UnsupportedOperationException unsupported(Method method) {
+        return new UnsupportedOperationException("Not used by the load harness: "
+                + method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+    // The change history is kept in its own encoding, as it is in its own column
+    private record StoredCart(long version, ByteBuffer cart, ByteBuffer changeLog) {
+        static StoredCart of(Cart cart, long version) {
+            Cart copy = new Cart(cart.getUserId(), version, null);
+            copy.getItems().addAll(cart.getItems());
+            return new StoredCart(version, CartBinaryCodec.encode(copy), CartBinaryCodec.encode(cart.changeLog()));
+        }
+
+        Cart load() {
+            Cart decoded = CartBinaryCodec.decode(cart.duplicate());
+            Cart loaded = new Cart(decoded.getUserId(), version, CartBinaryCodec.decodeChangeLog(changeLog.duplicate()));
+            loaded.getItems().addAll(decoded.getItems());
+            return loaded;
+        }
+    }
+
+    private record LoadedCart(Cart cart, StoredCart stored) {
+    }
+}
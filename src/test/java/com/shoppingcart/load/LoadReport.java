@@ -0,0 +1,90 @@
+package com.shoppingcart.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of one harness run, written as JSON so runs can be diffed against a baseline.
+ * Latencies are in microseconds.
+ */
+class LoadReport {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LoadWorkload workload;
+    private final Map<CartLoadHarness.Operation, Histogram> latencies;
+    private final Map<CartLoadHarness.Operation, LongAdder> errors;
+    private final Map<String, LongAdder> errorsByType;
+
+    long linesChecked;
+    long lostUpdates;
+    long lostUnits;
+    long oversoldProducts;
+    long oversoldUnits;
+
+    LoadReport(LoadWorkload workload, Map<CartLoadHarness.Operation, Histogram> latencies,
+               Map<CartLoadHarness.Operation, LongAdder> errors, Map<String, LongAdder> errorsByType) {
+        this.workload = workload;
+        this.latencies = latencies;
+        this.errors = errors;
+        this.errorsByType = errorsByType;
+    }
+
+    long totalOperations() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    double throughput() {
+        return totalOperations() / (double) workload.duration.toMillis() * 1000.0;
+    }
+
+    String toJson() throws JsonProcessingException {
+        Map<String, Object> workloadJson = new LinkedHashMap<>();
+        workloadJson.put("threads", workload.threads);
+        workloadJson.put("users", workload.users);
+        workloadJson.put("products", workload.products);
+        workloadJson.put("zipfExponent", workload.zipfExponent);
+        workloadJson.put("addWeight", workload.addWeight);
+        workloadJson.put("removeWeight", workload.removeWeight);
+        workloadJson.put("getWeight", workload.getWeight);
+        workloadJson.put("durationSeconds", workload.duration.toSeconds());
+        workloadJson.put("flashSaleEverySeconds", workload.flashSaleEvery.toSeconds());
+        workloadJson.put("optimisticLocking", workload.optimisticLocking);
+
+        Map<String, Object> latencyJson = new LinkedHashMap<>();
+        latencies.forEach((operation, histogram) -> {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getTotalCount());
+            stats.put("errors", errors.get(operation).sum());
+            stats.put("p50", histogram.getValueAtPercentile(50));
+            stats.put("p90", histogram.getValueAtPercentile(90));
+            stats.put("p99", histogram.getValueAtPercentile(99));
+            stats.put("p999", histogram.getValueAtPercentile(99.9));
+            stats.put("max", histogram.getMaxValue());
+            latencyJson.put(operation.name().toLowerCase(Locale.ROOT), stats);
+        });
+
+        Map<String, Long> errorTypes = new TreeMap<>();
+        errorsByType.forEach((type, count) -> errorTypes.put(type, count.sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", workloadJson);
+        report.put("operations", totalOperations());
+        // One decimal is plenty to compare runs and keeps the diff against a baseline readable
+        report.put("throughputPerSecond", Math.round(throughput() * 10) / 10.0);
+        report.put("latencyMicros", latencyJson);
+        report.put("errorsByType", errorTypes);
+        report.put("linesChecked", linesChecked);
+        report.put("lostUpdates", lostUpdates);
+        report.put("lostUnits", lostUnits);
+        report.put("oversoldProducts", oversoldProducts);
+        report.put("oversoldUnits", oversoldUnits);
+        return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+    }
+}
@@ -0,0 +1,65 @@
+package com.shoppingcart.load;
+
+import java.time.Duration;
+
+/**
+ * Shape of the traffic driven by {@link CartLoadHarness}. Every setting can be overridden
+ * with a {@code -Dload.*} system property, e.g. {@code mvn test -Pload -Dload.threads=32}.
+ */
+class LoadWorkload {
+    int threads = 16;
+    int users = 2_000;
+    int products = 500;
+    int initialStock = 1_000;
+    double zipfExponent = 1.1;
+    int addWeight = 60;
+    int removeWeight = 10;
+    int getWeight = 30;
+    int maxQuantity = 3;
+    Duration warmup = Duration.ofSeconds(2);
+    Duration duration = Duration.ofSeconds(10);
+    /** Time between flash sales; zero disables them */
+    Duration flashSaleEvery = Duration.ofSeconds(4);
+    Duration flashSaleLength = Duration.ofSeconds(1);
+    int flashSaleStock = 50;
+    /** Reject stale cart writes the way a versioned JPA entity would */
+    boolean optimisticLocking = false;
+    String reportPath = "target/load-report.json";
+
+    static LoadWorkload fromSystemProperties() {
+        LoadWorkload workload = new LoadWorkload();
+        workload.threads = Integer.getInteger("load.threads", workload.threads);
+        workload.users = Integer.getInteger("load.users", workload.users);
+        workload.products = Integer.getInteger("load.products", workload.products);
+        workload.initialStock = Integer.getInteger("load.initialStock", workload.initialStock);
+        workload.zipfExponent = Double.parseDouble(
+                System.getProperty("load.zipfExponent", String.valueOf(workload.zipfExponent)));
+        workload.addWeight = Integer.getInteger("load.addWeight", workload.addWeight);
+        workload.removeWeight = Integer.getInteger("load.removeWeight", workload.removeWeight);
+        workload.getWeight = Integer.getInteger("load.getWeight", workload.getWeight);
+        workload.maxQuantity = Integer.getInteger("load.maxQuantity", workload.maxQuantity);
+        workload.warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", workload.warmup.toSeconds()));
+        workload.duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", workload.duration.toSeconds()));
+        workload.flashSaleEvery = Duration.ofSeconds(
+                Long.getLong("load.flashSaleEverySeconds", workload.flashSaleEvery.toSeconds()));
+        workload.flashSaleLength = Duration.ofSeconds(
+                Long.getLong("load.flashSaleLengthSeconds", workload.flashSaleLength.toSeconds()));
+        workload.flashSaleStock = Integer.getInteger("load.flashSaleStock", workload.flashSaleStock);
+        workload.optimisticLocking = Boolean.parseBoolean(
+                System.getProperty("load.optimisticLocking", String.valueOf(workload.optimisticLocking)));
+        workload.reportPath = System.getProperty("load.report", workload.reportPath);
+        return workload;
+    }
+
+    String flashSaleProductId() {
+        return "flash";
+    }
+
+    static String productId(int index) {
+        return "prod" + index;
+    }
+
+    static String userId(int index) {
+        return "user" + index;
+    }
+}
@@ -0,0 +1,364 @@
+package com.shoppingcart.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppingcart.exception.CartSerializationException;
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartChangeLog;
+import com.shoppingcart.model.CartItem;
+import com.shoppingcart.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartBinaryCodecTest {
+
+    private static final String USER_ID = "user123";
+    private static final String PRODUCT_ID = "prod123";
+
+    private Cart testCart;
+
+    @BeforeEach
+    void setUp() {
+        testCart = new Cart(USER_ID);
+        testCart.addItem(new CartItem(PRODUCT_ID, 2, 10.99));
+        testCart.addItem(new CartItem("prod-é中😀", 300, 0.5));
+        testCart.markChanged(PRODUCT_ID);
+    }
+
+    @Test
+    void decode_WhenCartWasEncoded_ShouldRoundTrip() {
+        // Act
+        Cart decoded = CartBinaryCodec.decode(CartBinaryCodec.encode(testCart));
+
+        // Assert
+        assertEquals(USER_ID, decoded.getUserId());
+        assertEquals(testCart.getVersion(), decoded.getVersion());
+        assertEquals(2, decoded.getItems().size());
+        for (int i = 0; i < testCart.getItems().size(); i++) {
+            CartItem expected = testCart.getItems().get(i);
+            CartItem actual = decoded.getItems().get(i);
+            assertEquals(expected.getProductId(), actual.getProductId());
+            assertEquals(expected.getQuantity(), actual.getQuantity());
+            assertEquals(expected.getPrice(), actual.getPrice());
+        }
+    }
+
+    @Test
+    void decode_WhenCartHasChangeLog_ShouldLeaveHistoryOutOfPayload() {
+        // Arrange
+        CartChangeLog changeLog = new CartChangeLog(CartChangeLog.DEFAULT_CAPACITY, 4);
+        changeLog.record(6, "removed-product");
+        changeLog.record(7, PRODUCT_ID);
+        Cart savedCart = new Cart(USER_ID, 7L, changeLog);
+        savedCart.addItem(new CartItem(PRODUCT_ID, 1, 10.99));
+        Cart withoutHistory = new Cart(USER_ID, 7L, new CartChangeLog());
+        withoutHistory.addItem(new CartItem(PRODUCT_ID, 1, 10.99));
+
+        // Act
+        ByteBuffer encoded = CartBinaryCodec.encode(savedCart);
+        Cart decoded = CartBinaryCodec.decode(encoded.duplicate());
+
+        // Assert
+        assertEquals(CartBinaryCodec.encode(withoutHistory), encoded);
+        assertEquals(7, decoded.getVersion());
+        assertEquals(0, decoded.changeLog().size());
+        assertTrue(decoded.getChangedProductIdsSince(6).isEmpty());
+    }
+
+    @Test
+    void decodeChangeLog_WhenChangeLogWasEncoded_ShouldRoundTrip() {
+        // Arrange
+        CartChangeLog changeLog = new CartChangeLog(CartChangeLog.DEFAULT_CAPACITY, 4);
+        changeLog.record(6, "prod-é中😀");
+        changeLog.record(7, PRODUCT_ID);
+
+        // Act
+        CartChangeLog decoded = CartBinaryCodec.decodeChangeLog(CartBinaryCodec.encode(changeLog));
+
+        // Assert
+        assertEquals(changeLog, decoded);
+        assertEquals(Set.of(PRODUCT_ID), decoded.changedSince(6).orElseThrow());
+        assertTrue(decoded.changedSince(3).isEmpty());
+    }
+
+    @Test
+    void decode_WhenPayloadIsFormatVersion3_ShouldKeepItsChangeHistory() {
+        // Arrange
+        ByteBuffer payload = payload((byte) 3, 1, PRODUCT_ID, 1, USER_ID, 7L, 1, 0, 1, 10.99, 5L, 1, 7L, 0);
+
+        // Act
+        Cart decoded = CartBinaryCodec.decode(payload);
+
+        // Assert
+        assertEquals(7, decoded.getVersion());
+        assertEquals(Set.of(PRODUCT_ID), decoded.getChangedProductIdsSince(6).orElseThrow());
+        assertTrue(decoded.getChangedProductIdsSince(3).isEmpty());
+        assertFalse(payload.hasRemaining());
+    }
+
+    @Test
+    void decode_WhenPayloadIsFormatVersion1_ShouldDecodeWithVersionZero() {
+        // Arrange
+        ByteBuffer payload = payload((byte) 1, 1, PRODUCT_ID, 1, USER_ID, 1, 0, 2, 10.99);
+
+        // Act
+        Cart decoded = CartBinaryCodec.decode(payload);
+
+        // Assert
+        assertEquals(USER_ID, decoded.getUserId());
+        assertEquals(0, decoded.getVersion());
+        assertEquals(PRODUCT_ID, decoded.getItems().get(0).getProductId());
+        assertEquals(2, decoded.getItems().get(0).getQuantity());
+        assertEquals(10.99, decoded.getItems().get(0).getPrice());
+        assertFalse(payload.hasRemaining());
+    }
+
+    @Test
+    void decode_WhenPayloadIsFormatVersion2_ShouldOnlyAnswerChangesFromItsVersion() {
+        // Arrange
+        ByteBuffer payload = payload((byte) 2, 1, PRODUCT_ID, 1, USER_ID, 9L, 1, 0, 2, 10.99);
+
+        // Act
+        Cart decoded = CartBinaryCodec.decode(payload);
+
+        // Assert
+        assertEquals(9, decoded.getVersion());
+        assertTrue(decoded.getChangedProductIdsSince(8).isEmpty());
+        assertEquals(Set.of(), decoded.getChangedProductIdsSince(9).orElseThrow());
+    }
+
+    @Test
+    void convertToEntityAttribute_WhenChangeLogWasConverted_ShouldRoundTrip() {
+        // Arrange
+        CartChangeLogConverter converter = new CartChangeLogConverter();
+        CartChangeLog changeLog = new CartChangeLog();
+        changeLog.record(0, PRODUCT_ID);
+        changeLog.record(1, "prod-é中😀");
+
+        // Act
+        CartChangeLog converted = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(changeLog));
+
+        // Assert
+        assertEquals(changeLog, converted);
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void encodeAll_WhenCartsShareProducts_ShouldStoreProductIdOnce() {
+        // Arrange
+        Cart otherCart = new Cart("user456");
+        otherCart.addItem(new CartItem(PRODUCT_ID, 1, 10.99));
+
+        // Act
+        int shared = CartBinaryCodec.encodedSize(List.of(testCart, otherCart));
+        int separate = CartBinaryCodec.encodedSize(List.of(testCart))
+                + CartBinaryCodec.encodedSize(List.of(otherCart));
+        List<Cart> decoded = CartBinaryCodec.decodeAll(CartBinaryCodec.encodeAll(List.of(testCart, otherCart)));
+
+        // Assert
+        assertTrue(shared < separate);
+        assertEquals(2, decoded.size());
+        assertEquals(PRODUCT_ID, decoded.get(1).getItems().get(0).getProductId());
+    }
+
+    @Test
+    void encodeAll_WhenTargetIsDirectBuffer_ShouldWriteExactlyEncodedSize() {
+        // Arrange
+        ByteBuffer target = ByteBuffer.allocateDirect(64 + CartBinaryCodec.encodedSize(List.of(testCart)));
+
+        // Act
+        CartBinaryCodec.encodeAll(List.of(testCart), target);
+        target.flip();
+
+        // Assert
+        assertEquals(CartBinaryCodec.encodedSize(List.of(testCart)), target.remaining());
+        assertEquals(USER_ID, CartBinaryCodec.decode(target).getUserId());
+        assertFalse(target.hasRemaining());
+    }
+
+    @Test
+    void encodeAll_WhenTargetTooSmall_ShouldThrowCartSerializationException() {
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () ->
+            CartBinaryCodec.encodeAll(List.of(testCart), ByteBuffer.allocate(4))
+        );
+    }
+
+    @Test
+    void decode_WhenPayloadTruncated_ShouldThrowCartSerializationException() {
+        // Arrange
+        ByteBuffer encoded = CartBinaryCodec.encode(testCart);
+        encoded.limit(encoded.limit() - 1);
+
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () -> CartBinaryCodec.decode(encoded));
+    }
+
+    @Test
+    void encode_WhenCartIsFull_ShouldBeSmallerThanJson() throws Exception {
+        // Arrange
+        Cart fullCart = representativeCart();
+
+        // Act
+        int binarySize = CartBinaryCodec.encode(fullCart).remaining();
+        int jsonSize = new ObjectMapper().writeValueAsBytes(fullCart).length;
+
+        // Assert
+        assertTrue(binarySize * 2 < jsonSize, "binary " + binarySize + " bytes vs JSON " + jsonSize + " bytes");
+    }
+
+    @Test
+    void encode_WhenCartHasFullHistory_ShouldStaySmallerThanJson() throws Exception {
+        // Arrange
+        Cart fullCart = representativeCart();
+        for (int i = 0; i < CartChangeLog.DEFAULT_CAPACITY; i++) {
+            fullCart.markChanged(String.format("SKU-REMOVED-%06d", i));
+        }
+
+        // Act
+        int binarySize = CartBinaryCodec.encode(fullCart).remaining();
+        int jsonSize = new ObjectMapper().writeValueAsBytes(fullCart).length;
+
+        // Assert
+        assertEquals(CartBinaryCodec.encode(representativeCart()).remaining(), binarySize);
+        assertTrue(binarySize * 2 < jsonSize, "binary " + binarySize + " bytes vs JSON " + jsonSize + " bytes");
+    }
+
+    @Test
+    void encode_WhenProductIdHasLoneSurrogate_ShouldWriteQuestionMark() {
+        // Arrange
+        Cart cart = new Cart(USER_ID);
+        cart.getItems().add(new CartItem("a\uD800b", 1, 1.00));
+
+        // Act
+        Cart decoded = CartBinaryCodec.decode(CartBinaryCodec.encode(cart));
+
+        // Assert
+        assertEquals("a?b", decoded.getItems().get(0).getProductId());
+        assertEquals(CartBinaryCodec.encodedSize(List.of(cart)), CartBinaryCodec.encode(cart).remaining());
+    }
+
+    @Test
+    void decodeAll_WhenDictionarySizeNegative_ShouldThrowCartSerializationException() {
+        // Arrange
+        ByteBuffer payload = cartPayload(-1);
+
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () -> CartBinaryCodec.decodeAll(payload));
+    }
+
+    @Test
+    void decodeAll_WhenDictionarySizeExceedsPayload_ShouldThrowCartSerializationException() {
+        // Arrange
+        ByteBuffer payload = cartPayload(Integer.MAX_VALUE);
+
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () -> CartBinaryCodec.decodeAll(payload));
+    }
+
+    @Test
+    void decodeAll_WhenCartCountExceedsPayload_ShouldThrowCartSerializationException() {
+        // Arrange
+        ByteBuffer payload = cartPayload(0, 1_000_000);
+
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () -> CartBinaryCodec.decodeAll(payload));
+    }
+
+    @Test
+    void decodeAll_WhenItemCountNegative_ShouldThrowCartSerializationException() {
+        // Arrange
+        ByteBuffer payload = cartPayload(0, 1, USER_ID, 0, -1);
+
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () -> CartBinaryCodec.decodeAll(payload));
+    }
+
+    @Test
+    void decodeAll_WhenProductIndexNegative_ShouldThrowCartSerializationException() {
+        // Arrange
+        ByteBuffer payload = cartPayload(0, 1, USER_ID, 0, 1, -1, 1, 10.99);
+
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () -> CartBinaryCodec.decodeAll(payload));
+    }
+
+    @Test
+    void decode_WhenPayloadIsProduct_ShouldThrowCartSerializationException() {
+        // Arrange
+        ByteBuffer encoded = CartBinaryCodec.encode(new Product(PRODUCT_ID, "Test Product", 10.99, 5));
+
+        // Act & Assert
+        assertThrows(CartSerializationException.class, () -> CartBinaryCodec.decode(encoded));
+    }
+
+    @Test
+    void decodeProduct_WhenProductWasEncoded_ShouldRoundTrip() {
+        // Arrange
+        Product product = new Product(PRODUCT_ID, "Test Product", 10.99, 5);
+        product.setActive(false);
+
+        // Act
+        Product decoded = CartBinaryCodec.decodeProduct(CartBinaryCodec.encode(product));
+
+        // Assert
+        assertEquals(PRODUCT_ID, decoded.getId());
+        assertEquals("Test Product", decoded.getName());
+        assertEquals(10.99, decoded.getPrice());
+        assertEquals(5, decoded.getStockQuantity());
+        assertFalse(decoded.isActive());
+    }
+
+    @Test
+    void writeVarInt_WhenValueIsSmall_ShouldUseSingleByte() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(5);
+
+        // Act
+        CartBinaryCodec.writeVarInt(buffer, 127);
+
+        // Assert
+        assertEquals(1, buffer.position());
+        assertEquals(2, CartBinaryCodec.varIntSize(128));
+        assertEquals(5, CartBinaryCodec.varIntSize(-1));
+    }
+
+    // A full cart with catalogue-style ids and prices, shared with CartCodecBenchmarkTest
+    static Cart representativeCart() {
+        Cart cart = new Cart(USER_ID);
+        for (int i = 0; i < Cart.MAX_ITEMS; i++) {
+            cart.addItem(new CartItem(String.format("SKU-%06d", 104_200 + i * 37), 1 + i % 3, 9.99 + i * 5));
+        }
+        return cart;
+    }
+
+    private static ByteBuffer cartPayload(Object... fields) {
+        return payload(CartBinaryCodec.FORMAT_VERSION, fields);
+    }
+
+    // Hand-built cart payload: ints are varints, longs varlongs, strings length-prefixed, doubles raw
+    private static ByteBuffer payload(byte formatVersion, Object... fields) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put(CartBinaryCodec.MAGIC).put(formatVersion).put(CartBinaryCodec.TYPE_CARTS);
+        for (Object field : fields) {
+            if (field instanceof Integer value) {
+                CartBinaryCodec.writeVarInt(buffer, value);
+            } else if (field instanceof Long value) {
+                CartBinaryCodec.writeVarLong(buffer, value);
+            } else if (field instanceof String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                CartBinaryCodec.writeVarInt(buffer, bytes.length);
+                buffer.put(bytes);
+            } else {
+                buffer.putDouble((Double) field);
+            }
+        }
+        return buffer.flip();
+    }
+}
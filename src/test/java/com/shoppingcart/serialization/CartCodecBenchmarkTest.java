@@ -0,0 +1,105 @@
+package com.shoppingcart.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartItem;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times the binary codec against Jackson for a full cart. Excluded from the default build;
+ * run it with {@code mvn test -Pload -Dtest=CartCodecBenchmarkTest}. Results go to
+ * {@code target/codec-benchmark.json}, latencies in nanoseconds.
+ */
+@Tag("load")
+class CartCodecBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CartCodecBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("codec.warmup", 50_000);
+    private static final int MEASURED_ITERATIONS = Integer.getInteger("codec.iterations", 200_000);
+
+    // Keeps the JIT from discarding results that are never read
+    private long sink;
+
+    @Test
+    void compareWithJackson() throws Exception {
+        Cart cart = CartBinaryCodecTest.representativeCart();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteBuffer binary = CartBinaryCodec.encode(cart);
+        byte[] json = objectMapper.writeValueAsBytes(cart);
+
+        Map<String, Histogram> results = new LinkedHashMap<>();
+        results.put("binaryEncode", time(() -> CartBinaryCodec.encode(cart).remaining()));
+        results.put("binaryDecode", time(() -> CartBinaryCodec.decode(binary.duplicate()).getItems().size()));
+        results.put("jsonEncode", time(() -> objectMapper.writeValueAsBytes(cart).length));
+        results.put("jsonDecode", time(() -> objectMapper.readValue(json, CartJson.class).toCart().getItems().size()));
+
+        String report = toJson(objectMapper, binary.remaining(), json.length, results);
+        Path reportPath = Path.of("target", "codec-benchmark.json");
+        Files.createDirectories(reportPath.getParent());
+        Files.writeString(reportPath, report);
+        log.info("Codec benchmark written to {}:\n{}", reportPath, report);
+        assertTrue(sink != 0);
+    }
+
+    private Histogram time(Callable<Integer> operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operation.call();
+        }
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            sink += operation.call();
+            histogram.recordValue(System.nanoTime() - start);
+        }
+        return histogram;
+    }
+
+    private static String toJson(ObjectMapper objectMapper, int binaryBytes, int jsonBytes,
+                                 Map<String, Histogram> results) throws JsonProcessingException {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        results.forEach((name, histogram) -> {
+            Map<String, Long> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", histogram.getValueAtPercentile(50));
+            percentiles.put("p99", histogram.getValueAtPercentile(99));
+            percentiles.put("max", histogram.getMaxValue());
+            latencies.put(name, percentiles);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("iterations", MEASURED_ITERATIONS);
+        report.put("binaryBytes", binaryBytes);
+        report.put("jsonBytes", jsonBytes);
+        report.put("latencyNanos", latencies);
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+    }
+
+    // Cart has no public creator for Jackson, so JSON is read into these and rebuilt the way
+    // the binary decoder does, keeping both decode timings down to the same Cart
+    private record CartJson(String userId, long version, List<ItemJson> items) {
+        Cart toCart() {
+            Cart cart = new Cart(userId, version, null);
+            for (ItemJson item : items) {
+                cart.getItems().add(new CartItem(item.productId(), item.quantity(), item.price()));
+            }
+            return cart;
+        }
+    }
+
+    private record ItemJson(String productId, int quantity, double price) {
+    }
+}
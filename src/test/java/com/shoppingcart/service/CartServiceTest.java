@@ -5,9 +5,12 @@ import com.shoppingcart.exception.OutOfStockException;
 import com.shoppingcart.exception.InvalidQuantityException;
 import com.shoppingcart.exception.*;
 import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartChangeLog;
+import com.shoppingcart.model.CartDelta;
 import com.shoppingcart.model.CartItem;
 import com.shoppingcart.model.Product;
 import com.shoppingcart.repository.CartRepository;
+import com.shoppingcart.serialization.CartBinaryCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +19,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +46,7 @@ class CartServiceTest {
 
     private Product testProduct;
     private Cart testCart;
+    private final Map<String, StoredCart> savedCarts = new HashMap<>();
 
     @BeforeEach
     void setUp() {
@@ -273,4 +281,140 @@ class CartServiceTest {
         assertDoesNotThrow(() -> cartService.addItemToCart(USER_ID, PRODUCT_ID, QUANTITY));
         verify(cartRepository, times(2)).save(any(Cart.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void addItemToCart_WhenItemAdded_ShouldBumpStoredVersion() {
+        // Arrange
+        stubCartStore(testCart);
+        when(productService.getProduct(PRODUCT_ID)).thenReturn(testProduct);
+
+        // Act
+        cartService.addItemToCart(USER_ID, PRODUCT_ID, QUANTITY);
+        cartService.addItemToCart(USER_ID, PRODUCT_ID, QUANTITY);
+
+        // Assert
+        assertEquals(2, reloadCart().getVersion());
+    }
+
+    @Test
+    void removeItemFromCart_WhenItemNotInCart_ShouldNotBumpCartVersion() {
+        // Arrange
+        stubCartStore(testCart);
+
+        // Act
+        cartService.removeItemFromCart(USER_ID, PRODUCT_ID);
+
+        // Assert
+        assertEquals(0, reloadCart().getVersion());
+    }
+
+    @Test
+    void getCartChanges_WhenVersionIsCurrent_ShouldReturnNoChanges() {
+        // Arrange
+        stubCartStore(testCart);
+        when(productService.getProduct(PRODUCT_ID)).thenReturn(testProduct);
+        cartService.addItemToCart(USER_ID, PRODUCT_ID, QUANTITY);
+
+        // Act
+        CartDelta delta = cartService.getCartChanges(USER_ID, reloadCart().getVersion());
+
+        // Assert
+        assertFalse(delta.hasChanges());
+    }
+
+    @Test
+    void getCartChanges_WhenCartReloadedAfterChanges_ShouldReturnOnlyChangedLines() {
+        // Arrange
+        stubCartStore(testCart);
+        stubAnyProduct();
+        cartService.addItemToCart(USER_ID, "prod1", 1);
+        cartService.addItemToCart(USER_ID, "prod2", 1);
+        cartService.addItemToCart(USER_ID, PRODUCT_ID, 1);
+        long sinceVersion = reloadCart().getVersion();
+        cartService.addItemToCart(USER_ID, "prod1", 2);
+        cartService.removeItemFromCart(USER_ID, "prod2");
+
+        // Act
+        CartDelta delta = cartService.getCartChanges(USER_ID, sinceVersion);
+
+        // Assert
+        assertFalse(delta.isFull());
+        assertEquals(sinceVersion + 2, delta.getVersion());
+        assertEquals(1, delta.getItems().size());
+        assertEquals("prod1", delta.getItems().get(0).getProductId());
+        assertEquals(3, delta.getItems().get(0).getQuantity());
+        assertEquals(List.of("prod2"), delta.getRemovedProductIds());
+    }
+
+    @Test
+    void getCartChanges_WhenVersionOlderThanChangeLog_ShouldReturnFullCart() {
+        // Arrange
+        stubCartStore(testCart);
+        when(productService.getProduct(PRODUCT_ID)).thenReturn(testProduct);
+        for (int i = 0; i < CartChangeLog.DEFAULT_CAPACITY * 2; i++) {
+            cartService.addItemToCart(USER_ID, PRODUCT_ID, 1);
+        }
+
+        // Act
+        CartDelta delta = cartService.getCartChanges(USER_ID, 1);
+
+        // Assert
+        assertTrue(delta.isFull());
+        assertEquals(1, delta.getItems().size());
+    }
+
+    @Test
+    void getCartChanges_WhenCartStoredWithoutChangeLog_ShouldOnlyAnswerFromItsVersion() {
+        // Arrange
+        Cart legacyCart = new Cart(USER_ID, 5L, null);
+        legacyCart.addItem(new CartItem(PRODUCT_ID, 1));
+        stubCartStore(legacyCart);
+
+        // Act & Assert
+        assertTrue(cartService.getCartChanges(USER_ID, 3).isFull());
+        assertFalse(cartService.getCartChanges(USER_ID, 5).hasChanges());
+    }
+
+    // Stores carts as encoded snapshots so every load is a fresh copy, like a real persistence
+    // context; the change history is kept in its own encoding, as in its own column
+    private void stubCartStore(Cart initial) {
+        savedCarts.put(USER_ID, StoredCart.of(initial, initial.getVersion()));
+        when(cartRepository.findByUserId(USER_ID)).thenAnswer(i ->
+                Optional.ofNullable(savedCarts.get(USER_ID)).map(StoredCart::load));
+        lenient().when(cartRepository.save(any(Cart.class))).thenAnswer(i -> {
+            Cart cart = i.getArgument(0);
+            StoredCart stored = savedCarts.get(cart.getUserId());
+            // As with @Version, an unchanged cart isn't written and a changed one goes one version up
+            if (stored == null || !stored.equals(StoredCart.of(cart, cart.getVersion()))) {
+                long version = cart.hasBeenSaved() ? cart.getVersion() + 1 : 0;
+                savedCarts.put(cart.getUserId(), StoredCart.of(cart, version));
+            }
+            return cart;
+        });
+    }
+
+    private void stubAnyProduct() {
+        when(productService.getProduct(anyString())).thenAnswer(i ->
+                new Product(i.getArgument(0), "Test Product", 10.99, 5));
+    }
+
+    private Cart reloadCart() {
+        return savedCarts.get(USER_ID).load();
+    }
+
+    private record StoredCart(ByteBuffer cart, ByteBuffer changeLog) {
+        static StoredCart of(Cart cart, long version) {
+            Cart copy = new Cart(cart.getUserId(), version, null);
+            copy.getItems().addAll(cart.getItems());
+            return new StoredCart(CartBinaryCodec.encode(copy), CartBinaryCodec.encode(cart.changeLog()));
+        }
+
+        Cart load() {
+            Cart decoded = CartBinaryCodec.decode(cart.duplicate());
+            Cart loaded = new Cart(decoded.getUserId(), decoded.getVersion(),
+                    CartBinaryCodec.decodeChangeLog(changeLog.duplicate()));
+            loaded.getItems().addAll(decoded.getItems());
+            return loaded;
+        }
+    }
+}
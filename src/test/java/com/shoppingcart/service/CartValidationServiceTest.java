@@ -0,0 +1,193 @@
+package com.shoppingcart.service;
+
+import com.shoppingcart.exception.CartNotFoundException;
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.CartItem;
+import com.shoppingcart.model.CartLineStatus;
+import com.shoppingcart.model.CartLineVerdict;
+import com.shoppingcart.model.CartValidationResult;
+import com.shoppingcart.model.Product;
+import com.shoppingcart.service.impl.CartValidationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartValidationServiceTest {
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private ProductService productService;
+
+    private CartValidationService cartValidationService;
+
+    private static final String USER_ID = "user123";
+
+    private Cart testCart;
+    private Map<String, Product> catalog;
+
+    @BeforeEach
+    void setUp() {
+        cartValidationService = new CartValidationServiceImpl(cartService, productService,
+                new SyncTaskExecutor(), Duration.ofSeconds(5), Cart.MAX_ITEMS);
+        testCart = new Cart(USER_ID);
+        catalog = new HashMap<>();
+    }
+
+    @Test
+    void validateCart_WhenAllLinesCurrent_ShouldReturnValidVerdicts() {
+        // Arrange
+        addLine("prod1", 2, 10.99, new Product("prod1", "Product 1", 10.99, 5));
+        addLine("prod2", 1, 5.00, new Product("prod2", "Product 2", 5.00, 1));
+        stubLookups();
+
+        // Act
+        CartValidationResult result = cartValidationService.validateCart(USER_ID);
+
+        // Assert
+        assertTrue(result.isValid());
+        assertEquals(2, result.getLines().size());
+    }
+
+    @Test
+    void validateCart_WhenLinesStale_ShouldReturnPerLineVerdicts() {
+        // Arrange
+        Product inactive = new Product("prod2", "Product 2", 5.00, 5);
+        inactive.setActive(false);
+        addLine("prod1", 2, 10.99, new Product("prod1", "Product 1", 10.99, 5));
+        addLine("prod2", 1, 5.00, inactive);
+        addLine("prod3", 9, 1.00, new Product("prod3", "Product 3", 1.00, 3));
+        addLine("prod4", 1, 7.50, new Product("prod4", "Product 4", 8.25, 3));
+        addLine("gone", 1, 2.00, null);
+        stubLookups();
+
+        // Act
+        CartValidationResult result = cartValidationService.validateCart(USER_ID);
+
+        // Assert
+        assertFalse(result.isValid());
+        assertEquals(List.of(
+                CartLineStatus.VALID,
+                CartLineStatus.PRODUCT_NOT_AVAILABLE,
+                CartLineStatus.INSUFFICIENT_STOCK,
+                CartLineStatus.PRICE_CHANGED,
+                CartLineStatus.PRODUCT_NOT_FOUND),
+                result.getLines().stream().map(CartLineVerdict::getStatus).toList());
+        assertEquals(8.25, result.getLines().get(3).getCurrentPrice());
+    }
+
+    @Test
+    void validateCart_WhenCartFull_ShouldLookUpProductsInOneRead() {
+        // Arrange
+        fillCart();
+        stubLookups();
+
+        // Act
+        CartValidationResult result = cartValidationService.validateCart(USER_ID);
+
+        // Assert
+        assertTrue(result.isValid());
+        verify(productService, times(1)).getProducts(anyCollection());
+        verify(productService, never()).getProduct(anyString());
+    }
+
+    @Test
+    void validateCart_WhenBatchSizeBelowCartSize_ShouldSliceProductLookups() {
+        // Arrange
+        cartValidationService = new CartValidationServiceImpl(cartService, productService,
+                new SyncTaskExecutor(), Duration.ofSeconds(5), 4);
+        fillCart();
+        stubLookups();
+
+        // Act
+        CartValidationResult result = cartValidationService.validateCart(USER_ID);
+
+        // Assert
+        assertTrue(result.isValid());
+        verify(productService, times(3)).getProducts(anyCollection());
+    }
+
+    @Test
+    void validateCart_WhenLookupMissesDeadline_ShouldMarkLinesNotChecked() {
+        // Arrange
+        cartValidationService = new CartValidationServiceImpl(cartService, productService,
+                new SimpleAsyncTaskExecutor(), Duration.ofMillis(50), Cart.MAX_ITEMS);
+        addLine("prod1", 1, 1.00, new Product("prod1", "Product 1", 1.00, 1));
+        when(cartService.getCart(USER_ID)).thenReturn(testCart);
+        when(productService.getProducts(anyCollection())).thenAnswer(i -> {
+            Thread.sleep(500);
+            return catalog;
+        });
+
+        // Act
+        CartValidationResult result = cartValidationService.validateCart(USER_ID);
+
+        // Assert
+        assertEquals(CartLineStatus.NOT_CHECKED, result.getLines().get(0).getStatus());
+        assertNull(result.getLines().get(0).getCurrentPrice());
+    }
+
+    @Test
+    void validateCart_WhenLookupFails_ShouldMarkLinesNotChecked() {
+        // Arrange
+        addLine("prod1", 1, 1.00, new Product("prod1", "Product 1", 1.00, 1));
+        when(cartService.getCart(USER_ID)).thenReturn(testCart);
+        when(productService.getProducts(anyCollection())).thenThrow(new RuntimeException("Connection failed"));
+
+        // Act
+        CartValidationResult result = cartValidationService.validateCart(USER_ID);
+
+        // Assert
+        assertEquals(CartLineStatus.NOT_CHECKED, result.getLines().get(0).getStatus());
+    }
+
+    @Test
+    void validateCart_WhenCartDoesNotExist_ShouldThrowCartNotFoundException() {
+        // Arrange
+        when(cartService.getCart(USER_ID)).thenThrow(new CartNotFoundException("Cart not found"));
+
+        // Act & Assert
+        assertThrows(CartNotFoundException.class, () -> cartValidationService.validateCart(USER_ID));
+    }
+
+    private void addLine(String productId, int quantity, double price, Product product) {
+        testCart.addItem(new CartItem(productId, quantity, price));
+        if (product != null) {
+            catalog.put(productId, product);
+        }
+    }
+
+    private void fillCart() {
+        for (int i = 0; i < Cart.MAX_ITEMS; i++) {
+            addLine("prod" + i, 1, 1.00, new Product("prod" + i, "Product " + i, 1.00, 1));
+        }
+    }
+
+    private void stubLookups() {
+        when(cartService.getCart(USER_ID)).thenReturn(testCart);
+        when(productService.getProducts(anyCollection())).thenAnswer(i -> {
+            Map<String, Product> found = new HashMap<>();
+            for (String productId : i.<Collection<String>>getArgument(0)) {
+                if (catalog.containsKey(productId)) {
+                    found.put(productId, catalog.get(productId));
+                }
+            }
+            return found;
+        });
+    }
+}
@@ -0,0 +1,243 @@
+package com.shoppingcart.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppingcart.event.StockLevelsUpdatedEvent;
+import com.shoppingcart.exception.StockImportException;
+import com.shoppingcart.model.StockImportFormat;
+import com.shoppingcart.model.StockImportJob;
+import com.shoppingcart.model.StockImportJobStatus;
+import com.shoppingcart.model.StockImportReport;
+import com.shoppingcart.service.impl.StockImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private StockImportService stockImportService;
+
+    @BeforeEach
+    void setUp() {
+        stockImportService = new StockImportServiceImpl(jdbcTemplate, transactionTemplate, eventPublisher,
+                new ObjectMapper(), new SyncTaskExecutor());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void importStock_WhenCsvRowsValid_ShouldApplyThemInOneBatch() {
+        // Arrange
+        stubBatchUpdateWithAllRowsMatched();
+
+        // Act
+        StockImportReport report = stockImportService.importStock(
+                input("productId,quantity\nprod1,5\n\n\"prod2\", 0\n"), StockImportFormat.CSV);
+
+        // Assert
+        assertEquals(2, report.getRowsRead());
+        assertEquals(2, report.getRowsUpdated());
+        assertEquals(0, report.getRowsRejected());
+        assertEquals(1, report.getBatches());
+        ArgumentCaptor<StockLevelsUpdatedEvent> event = ArgumentCaptor.forClass(StockLevelsUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of("prod1", "prod2"), event.getValue().getProductIds());
+    }
+
+    @Test
+    void importStock_WhenRowsInvalid_ShouldRejectThemWithLineNumbers() {
+        // Arrange
+        stubBatchUpdateWithAllRowsMatched();
+
+        // Act
+        StockImportReport report = stockImportService.importStock(
+                input("prod1,5\nprod2,-1\n,3\nprod4,abc\nprod5\n"), StockImportFormat.CSV);
+
+        // Assert
+        assertEquals(5, report.getRowsRead());
+        assertEquals(1, report.getRowsUpdated());
+        assertEquals(4, report.getRowsRejected());
+        assertEquals(List.of(2L, 3L, 4L, 5L),
+                report.getRejects().stream().map(r -> r.getLineNumber()).toList());
+    }
+
+    @Test
+    void importStock_WhenProductUnknown_ShouldRejectRow() {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 0}});
+
+        // Act
+        StockImportReport report = stockImportService.importStock(
+                input("{\"productId\":\"prod1\",\"quantity\":5}\n{\"productId\":\"missing\",\"quantity\":2}\n"),
+                StockImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(1, report.getRowsUpdated());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals("missing", report.getRejects().get(0).getProductId());
+        assertEquals("Product not found", report.getRejects().get(0).getReason());
+    }
+
+    @Test
+    void importStock_WhenNdjsonMalformed_ShouldRejectRowWithoutApplyingBatch() {
+        // Act
+        StockImportReport report = stockImportService.importStock(
+                input("{\"productId\":\"prod1\",\"quantity\":1.5}\nnot json\n"), StockImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(2, report.getRowsRejected());
+        assertEquals(0, report.getBatches());
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void importStock_WhenInputExceedsBatchSize_ShouldApplyChunkedBatches() {
+        // Arrange
+        stubBatchUpdateWithAllRowsMatched();
+        StringBuilder csv = new StringBuilder();
+        int rows = StockImportServiceImpl.BATCH_SIZE * 2 + 1;
+        for (int i = 0; i < rows; i++) {
+            csv.append("prod").append(i).append(',').append(i).append('\n');
+        }
+
+        // Act
+        StockImportReport report = stockImportService.importStock(input(csv.toString()), StockImportFormat.CSV);
+
+        // Assert
+        assertEquals(rows, report.getRowsUpdated());
+        assertEquals(3, report.getBatches());
+        verify(eventPublisher, times(3)).publishEvent(any(StockLevelsUpdatedEvent.class));
+    }
+
+    @Test
+    void importStock_WhenBatchUpdateFails_ShouldRejectItsRowsAndContinue() {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"))
+                .thenAnswer(i -> new int[][]{{1}});
+        StringBuilder csv = new StringBuilder();
+        int rows = StockImportServiceImpl.BATCH_SIZE + 1;
+        for (int i = 0; i < rows; i++) {
+            csv.append("prod").append(i).append(',').append(i).append('\n');
+        }
+
+        // Act
+        StockImportReport report = stockImportService.importStock(input(csv.toString()), StockImportFormat.CSV);
+
+        // Assert
+        assertEquals(1, report.getFailedBatches());
+        assertEquals(1, report.getBatches());
+        assertEquals(1, report.getRowsUpdated());
+        assertEquals(StockImportServiceImpl.BATCH_SIZE, report.getRowsRejected());
+        assertEquals("Batch update failed: Connection lost", report.getRejects().get(0).getReason());
+        verify(eventPublisher).publishEvent(any(StockLevelsUpdatedEvent.class));
+    }
+
+    @Test
+    void submitImport_WhenImportCompletes_ShouldExposeReportThroughJob() {
+        // Arrange
+        stubBatchUpdateWithAllRowsMatched();
+
+        // Act
+        StockImportJob job = stockImportService.submitImport(input("prod1,5\nprod2,x\n"), StockImportFormat.CSV);
+
+        // Assert
+        StockImportJob found = stockImportService.getImportJob(job.getId()).orElseThrow();
+        assertEquals(StockImportJobStatus.COMPLETED, found.getStatus());
+        assertEquals(1, found.getReport().getRowsUpdated());
+        assertEquals(1, found.getReport().getRowsRejected());
+        assertTrue(stockImportService.getImportJob("unknown").isEmpty());
+    }
+
+    @Test
+    void submitImport_WhenUploadUnreadable_ShouldThrowStockImportException() {
+        // Arrange
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        // Act & Assert
+        assertThrows(StockImportException.class,
+                () -> stockImportService.submitImport(broken, StockImportFormat.CSV));
+    }
+
+    @Test
+    void submitImport_WhenExecutorRejectsImport_ShouldThrowAndRemoveStagedFile() throws IOException {
+        // Arrange
+        stockImportService = new StockImportServiceImpl(jdbcTemplate, transactionTemplate, eventPublisher,
+                new ObjectMapper(), task -> {
+                    throw new TaskRejectedException("Queue full");
+                });
+        Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+        Set<Path> stagedBefore = stagedFiles(tempDir);
+
+        // Act
+        StockImportException thrown = assertThrows(StockImportException.class,
+                () -> stockImportService.submitImport(input("prod1,5\n"), StockImportFormat.CSV));
+
+        // Assert
+        assertInstanceOf(TaskRejectedException.class, thrown.getCause());
+        assertEquals(stagedBefore, stagedFiles(tempDir));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static Set<Path> stagedFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("stock-import-"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private void stubBatchUpdateWithAllRowsMatched() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(i -> {
+                    int[] counts = new int[((Collection<?>) i.getArgument(1)).size()];
+                    Arrays.fill(counts, 1);
+                    return new int[][]{counts};
+                });
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package com.shoppingcart.tracing;
+
+import com.shoppingcart.model.Cart;
+import com.shoppingcart.model.Product;
+import com.shoppingcart.repository.CartRepository;
+import com.shoppingcart.service.CartService;
+import com.shoppingcart.service.ProductService;
+import com.shoppingcart.service.impl.CartServiceImpl;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RepositoryTracerTest {
+
+    private static final String USER_ID = "user123";
+    private static final String PRODUCT_ID = "prod123";
+
+    @Test
+    void endTrace_WhenCallSampled_ShouldRecordRepositoryCallsAndSql() {
+        // Arrange
+        RepositoryTracer tracer = new RepositoryTracer(1.0);
+
+        // Act
+        assertTrue(tracer.beginTrace("CartServiceImpl.addItemToCart"));
+        assertTrue(tracer.beginRepositoryCall("CartRepository.findByUserId"));
+        tracer.recordSql("select * from cart where user_id=?");
+        tracer.endRepositoryCall();
+        tracer.recordSql("update cart set version=? where user_id=?");
+        tracer.endTrace();
+
+        // Assert
+        RepositoryTraceReport report = tracer.report();
+        assertEquals(1, report.getRecentTraces().size());
+        RepositoryTrace trace = report.getRecentTraces().get(0);
+        assertEquals(1, trace.getRepositoryCallCount());
+        assertEquals(2, trace.getSqlStatementCount());
+        assertEquals(List.of("select * from cart where user_id=?"), trace.getRepositoryCalls().get(0).getSql());
+        assertEquals(List.of("update cart set version=? where user_id=?"), trace.getUnattributedSql());
+        assertEquals(1, report.getOperations().get(0).getTraces());
+        assertEquals(1.0, report.getOperations().get(0).getAverageRepositoryCalls());
+    }
+
+    @Test
+    void shouldTrace_WhenSampleRateIsZero_ShouldRecordNothing() {
+        // Arrange
+        RepositoryTracer tracer = new RepositoryTracer(0.0);
+
+        // Act
+        assertFalse(tracer.shouldTrace());
+        assertFalse(tracer.isTracing());
+        assertFalse(tracer.beginRepositoryCall("CartRepository.findByUserId"));
+        tracer.recordSql("select * from cart where user_id=?");
+        tracer.endRepositoryCall();
+        tracer.endTrace();
+
+        // Assert
+        assertTrue(tracer.report().getRecentTraces().isEmpty());
+        assertTrue(tracer.report().getOperations().isEmpty());
+    }
+
+    @Test
+    void beginTrace_WhenTraceAlreadyActive_ShouldNotStartNestedTrace() {
+        // Arrange
+        RepositoryTracer tracer = new RepositoryTracer(1.0);
+        tracer.beginTrace("CartServiceImpl.addItemToCart");
+
+        // Act & Assert
+        assertTrue(tracer.isTracing());
+        assertFalse(tracer.shouldTrace());
+        assertFalse(tracer.beginTrace("ProductServiceImpl.getProduct"));
+        tracer.endTrace();
+        assertEquals("CartServiceImpl.addItemToCart", tracer.report().getRecentTraces().get(0).getOperation());
+    }
+
+    @Test
+    void endTrace_WhenManyTracesRecorded_ShouldKeepOnlyMostRecent() {
+        // Arrange
+        RepositoryTracer tracer = new RepositoryTracer(1.0);
+
+        // Act
+        for (int i = 0; i < RepositoryTracer.MAX_RECENT_TRACES + 5; i++) {
+            tracer.beginTrace("op" + i);
+            tracer.endTrace();
+        }
+
+        // Assert
+        List<RepositoryTrace> recent = tracer.report().getRecentTraces();
+        assertEquals(RepositoryTracer.MAX_RECENT_TRACES, recent.size());
+        assertEquals("op5", recent.get(0).getOperation());
+    }
+
+    @Test
+    void constructor_WhenSampleRateOutOfRange_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryTracer(1.5));
+    }
+
+    @Test
+    void traceServiceCall_WhenNotSampled_ShouldNotBuildOperationNames() throws Throwable {
+        // Arrange
+        RepositoryTracingAspect aspect = new RepositoryTracingAspect(new RepositoryTracer(0.0));
+        ProceedingJoinPoint serviceCall = mock(ProceedingJoinPoint.class);
+        ProceedingJoinPoint repositoryCall = mock(ProceedingJoinPoint.class);
+        when(serviceCall.proceed()).thenReturn("service result");
+        when(repositoryCall.proceed()).thenReturn("repository result");
+
+        // Act
+        Object serviceResult = aspect.traceServiceCall(serviceCall);
+        Object repositoryResult = aspect.traceRepositoryCall(repositoryCall);
+
+        // Assert
+        assertEquals("service result", serviceResult);
+        assertEquals("repository result", repositoryResult);
+        verify(serviceCall, never()).getTarget();
+        verify(serviceCall, never()).getSignature();
+        verify(repositoryCall, never()).getThis();
+        verify(repositoryCall, never()).getSignature();
+    }
+
+    @Test
+    void traceServiceCall_WhenAddingItem_ShouldCountRepositoryRoundTrips() {
+        // Arrange
+        RepositoryTracer tracer = new RepositoryTracer(1.0);
+        RepositoryTracingAspect aspect = new RepositoryTracingAspect(tracer);
+
+        CartRepository repositoryMock = mock(CartRepository.class);
+        when(repositoryMock.findByUserId(USER_ID)).thenReturn(Optional.of(new Cart(USER_ID)));
+        AspectJProxyFactory repositoryProxy = new AspectJProxyFactory(repositoryMock);
+        repositoryProxy.addInterface(CartRepository.class);
+        repositoryProxy.addAspect(aspect);
+        CartRepository cartRepository = repositoryProxy.getProxy();
+
+        ProductService productService = mock(ProductService.class);
+        when(productService.getProduct(PRODUCT_ID)).thenReturn(new Product(PRODUCT_ID, "Test Product", 10.99, 5));
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(new CartServiceImpl(cartRepository, productService));
+        serviceProxy.addAspect(aspect);
+        CartService cartService = serviceProxy.getProxy();
+
+        // Act
+        cartService.addItemToCart(USER_ID, PRODUCT_ID, 2);
+
+        // Assert
+        RepositoryTrace trace = tracer.report().getRecentTraces().get(0);
+        assertEquals("CartServiceImpl.addItemToCart", trace.getOperation());
+        assertEquals(List.of("CartRepository.findByUserId", "CartRepository.save"),
+                trace.getRepositoryCalls().stream().map(RepositoryCall::getMethod).toList());
+    }
+}